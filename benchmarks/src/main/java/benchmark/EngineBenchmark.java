@@ -0,0 +1,98 @@
+package benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import engine.Perft;
+import engine.Search;
+import engine.SearchLimits;
+import engine.TranspositionTable;
+import piece.Fen;
+import piece.MoveGenerator;
+import piece.Position;
+import piece.San;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * The engine on the middlegame position: legal move generation, a depth 3
+ * perft, a fixed depth search that starts from an empty table every time, and
+ * writing every legal move in SAN.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms512m", "-Xmx512m", "-Djava.awt.headless=true" })
+@State(Scope.Thread)
+public class EngineBenchmark {
+
+	// Depths of the perft and search runs
+	private static final int PERFT_DEPTH = 3;
+	private static final int SEARCH_DEPTH = 6;
+	// Size of the search's transposition table in megabytes
+	private static final int TABLE_MEGABYTES = 16;
+
+	// An EngineBenchmark has-a position, moves and moveCount (its legal moves)
+	private Position position;
+	private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+	private int moveCount;
+	// An EngineBenchmark has-a perft, table and search
+	private Perft perft;
+	private TranspositionTable table;
+	private Search search;
+
+	@Setup
+	public void setUp() {
+		position = Fen.parse(MoveValidationBenchmark.MIDDLEGAME);
+		moveCount = MoveGenerator.generateLegal(position, moves);
+		perft = new Perft(PERFT_DEPTH);
+		table = new TranspositionTable(TABLE_MEGABYTES);
+		search = new Search(table);
+	}
+
+	@Benchmark
+	public int generateLegal() {
+		return MoveGenerator.generateLegal(position, moves);
+	}
+
+	@Benchmark
+	public long perft() {
+		return perft.count(position, PERFT_DEPTH);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public int search() {
+		table.clear();
+		search.clearHeuristics();
+		return search.search(position, SearchLimits.depth(SEARCH_DEPTH));
+	}
+
+	@Benchmark
+	public void toSan(Blackhole blackhole) {
+		for (int index = 0; index < moveCount; index++) {
+			blackhole.consume(San.toSan(position, moves[index]));
+		}
+	}
+}
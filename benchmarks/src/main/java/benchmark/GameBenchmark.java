@@ -0,0 +1,123 @@
+package benchmark;
+
+import java.awt.event.MouseEvent;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import main.Board;
+import main.Game;
+import main.GamePanel;
+import piece.Rules;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * The game loop's work per frame and per move: GamePanel.update with nothing
+ * happening and while a piece is dragged across the board, and Game.play,
+ * which applies a move and copies the pieces into the committed board state
+ * (what copyPieceState did before the game state moved into Game).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms512m", "-Xmx512m", "-Djava.awt.headless=true" })
+public class GameBenchmark {
+
+	/**
+	 * A panel with the mouse released and no piece selected.
+	 */
+	@State(Scope.Thread)
+	public static class IdlePanel {
+		// An IdlePanel has-a panel
+		GamePanel panel;
+
+		@Setup
+		public void setUp() {
+			panel = new GamePanel(new Game(MoveValidationBenchmark.MIDDLEGAME));
+		}
+	}
+
+	/**
+	 * A panel whose white queen is picked up and dragged one square further
+	 * along the board every frame.
+	 */
+	@State(Scope.Thread)
+	public static class DraggingPanel {
+		// A DraggingPanel has-a panel and square (where the mouse is dragged next)
+		GamePanel panel;
+		int square;
+
+		@Setup
+		public void setUp() {
+			panel = new GamePanel(new Game(MoveValidationBenchmark.MIDDLEGAME));
+			// The queen stands on f3
+			mouse(MouseEvent.MOUSE_MOVED, 5, 5);
+			mouse(MouseEvent.MOUSE_PRESSED, 5, 5);
+			panel.update();
+		}
+
+		void mouse(int id, int col, int row) {
+			int x = col * Board.getSquareSize() + Board.getHalfSquareSize();
+			int y = row * Board.getSquareSize() + Board.getHalfSquareSize();
+			panel.dispatchEvent(new MouseEvent(panel, id, 0, 0, x, y, 1, false, MouseEvent.BUTTON1));
+		}
+	}
+
+	/**
+	 * A fresh game for every call, so each one plays the same move.
+	 */
+	@State(Scope.Thread)
+	public static class FreshGame {
+		// A FreshGame has-a game and move (white castles kingside, moving two
+		// pieces)
+		Game game;
+		int move;
+
+		@Setup(Level.Invocation)
+		public void setUp() {
+			game = new Game(MoveValidationBenchmark.MIDDLEGAME);
+			move = Rules.parseUci(game.getPosition(), "e1g1");
+		}
+	}
+
+	@Benchmark
+	public GamePanel updateIdle(IdlePanel state) {
+		state.panel.update();
+		return state.panel;
+	}
+
+	@Benchmark
+	public GamePanel updateWhileDragging(DraggingPanel state) {
+		state.square = (state.square + 1) & 63;
+		state.mouse(MouseEvent.MOUSE_DRAGGED, state.square & 7, state.square >>> 3);
+		state.panel.update();
+		return state.panel;
+	}
+
+	@Benchmark
+	public Game play(FreshGame state) {
+		state.game.play(state.move);
+		return state.game;
+	}
+}
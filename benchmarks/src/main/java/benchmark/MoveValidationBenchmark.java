@@ -0,0 +1,94 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import main.Game;
+import piece.Piece;
+import piece.Position;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Move checks the board runs while a piece is dragged: Piece.isLegalMove for
+ * each piece type and Piece.getCollidingPiece, each asked for all 64 target
+ * squares of one piece in a busy middlegame position.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms512m", "-Xmx512m", "-Djava.awt.headless=true" })
+@State(Scope.Thread)
+public class MoveValidationBenchmark {
+
+	// White has every piece type and many captures, pins and castling moves
+	static final String MIDDLEGAME = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+	@Param({ "PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING" })
+	public String pieceType;
+
+	// A MoveValidationBenchmark has-a game and piece (the white piece checked)
+	private Game game;
+	private Piece piece;
+
+	@Setup
+	public void setUp() {
+		game = new Game(MIDDLEGAME);
+		// Type names in the order of the Position type numbers
+		int type = Arrays.asList("PAWN", "KNIGHT", "BISHOP", "ROOK", "QUEEN", "KING").indexOf(pieceType);
+		for (Piece candidate : game.getDisplayPieces()) {
+			if (candidate.getPieceColor() == Position.WHITE && candidate.getPieceType() == type) {
+				piece = candidate;
+				break;
+			}
+		}
+		if (piece == null) {
+			throw new IllegalStateException("No white " + pieceType);
+		}
+	}
+
+	@Benchmark
+	public int isLegalMove() {
+		int legal = 0;
+		for (int row = 0; row < 8; row++) {
+			for (int col = 0; col < 8; col++) {
+				if (piece.isLegalMove(game, col, row)) {
+					legal++;
+				}
+			}
+		}
+		return legal;
+	}
+
+	@Benchmark
+	public void getCollidingPiece(Blackhole blackhole) {
+		for (int row = 0; row < 8; row++) {
+			for (int col = 0; col < 8; col++) {
+				blackhole.consume(piece.getCollidingPiece(game, col, row));
+			}
+		}
+	}
+}
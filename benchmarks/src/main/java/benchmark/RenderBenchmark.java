@@ -0,0 +1,85 @@
+package benchmark;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import main.Board;
+import main.Game;
+import main.GamePanel;
+import piece.SpriteAtlas;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Drawing one frame off screen: the empty board alone and the whole panel
+ * (board, pieces and status text), both into an image the size of the window.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms512m", "-Xmx512m", "-Djava.awt.headless=true" })
+@State(Scope.Thread)
+public class RenderBenchmark {
+
+	// Size of the game window in pixels
+	private static final int WIDTH = 1100;
+	private static final int HEIGHT = 800;
+
+	// A RenderBenchmark has-a board, panel, image and graphics (drawing into
+	// image)
+	private Board board;
+	private GamePanel panel;
+	private BufferedImage image;
+	private Graphics2D graphics;
+
+	@Setup
+	public void setUp() {
+		// Measure the piece images, not the placeholders drawn while they load
+		SpriteAtlas.preload();
+		board = new Board();
+		panel = new GamePanel(new Game(MoveValidationBenchmark.MIDDLEGAME));
+		panel.setSize(WIDTH, HEIGHT);
+		image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+		graphics = image.createGraphics();
+	}
+
+	@TearDown
+	public void tearDown() {
+		graphics.dispose();
+	}
+
+	@Benchmark
+	public BufferedImage drawBoard() {
+		board.draw(graphics);
+		return image;
+	}
+
+	@Benchmark
+	public BufferedImage paintPanel() {
+		panel.paintComponent(graphics);
+		return image;
+	}
+}
@@ -0,0 +1,14 @@
+#!/bin/sh
+# Starts the game built by "mvn package" with the class data sharing archive
+# the build made (app/target/chess.jsa), which cuts the time to the first
+# frame. Set CHESS_STARTUP_TIMING=1 to print when the window was shown, first
+# painted and first used. Arguments are passed to the game (FEN, saved game).
+dir=$(cd "$(dirname "$0")" && pwd)
+jar="$dir/app/target/chess.jar"
+archive="$dir/app/target/chess.jsa"
+
+set --  "-Dchess.startupTiming=${CHESS_STARTUP_TIMING:+true}" -jar "$jar" "$@"
+if [ -f "$archive" ]; then
+	set -- "-XX:SharedArchiveFile=$archive" "$@"
+fi
+exec java "$@"
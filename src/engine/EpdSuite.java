@@ -0,0 +1,212 @@
+package engine;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import piece.Fen;
+import piece.Move;
+import piece.Position;
+import piece.San;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Runs an EPD test suite: every line is a position (the first four FEN
+ * fields) followed by operations such as
+ *
+ * <pre>
+ * 2rr3k/pp3pp1/1nnqbN1p/3pN3/2pP4/2P3Q1/PPB4P/R4RK1 w - - bm Qg6; id "WAC.001";
+ * </pre>
+ *
+ * A position is solved when the search picks one of the "bm" (best move)
+ * moves and none of the "am" (avoid move) moves. The positions are spread
+ * over worker threads, each with its own Search and transposition table, so
+ * the suite finishes in about (positions / threads) * time per position. The
+ * number solved and the total time make a repeatable strength and speed
+ * benchmark.
+ *
+ * Usage: java engine.EpdSuite [file] [ms per position] [threads] [hash MB per
+ * thread]; without a file a sample of the Win At Chess suite is run.
+ */
+public class EpdSuite {
+
+	// The first positions of the Win At Chess (WAC) suite
+	static final String[] SAMPLE_SUITE = {
+			"2rr3k/pp3pp1/1nnqbN1p/3pN3/2pP4/2P3Q1/PPB4P/R4RK1 w - - bm Qg6; id \"WAC.001\";",
+			"8/7p/5k2/5p2/p1p2P2/Pr1pPK2/1P1R3P/8 b - - bm Rxb2; id \"WAC.002\";",
+			"5rk1/1ppb3p/p1pb4/6q1/3P1p1r/2P1R2P/PP1BQ1P1/5RKN w - - bm Rg3; id \"WAC.003\";",
+			"r1bq2rk/pp3pbp/2p1p1pQ/7P/3P4/2PB1N2/PP3PPR/2KR4 w - - bm Qxh7+; id \"WAC.004\";",
+			"5k2/6pp/p1qN4/1p1p4/3P4/2PKP2Q/PP3r2/3R4 b - - bm Qc4+; id \"WAC.005\";",
+			"7k/p7/1R5K/6r1/6p1/6P1/8/8 w - - bm Rb7; id \"WAC.006\";",
+			"rnbqkb1r/pppp1ppp/8/4P3/6n1/7P/PPPNPPP1/R1BQKBNR b KQkq - bm Ne3; id \"WAC.007\";",
+			"r4q1k/p2bR1rp/2p2Q1N/5p2/5p2/2P5/PP3PPP/R5K1 w - - bm Rf7; id \"WAC.008\";",
+			"3q1rk1/p4pp1/2pb3p/3p4/6Pr/1PNQ4/P1PB1PP1/4RRK1 b - - bm Bh2+; id \"WAC.009\";",
+			"2br2k1/2q3rn/p2NppQ1/2p1P3/Pp5R/4P3/1P3PPP/3R2K1 w - - bm Rxh7; id \"WAC.010\";" };
+
+	/**
+	 * One test position of the suite.
+	 */
+	static final class Entry {
+		// An Entry has-a id, position and the text of its operations
+		private final String id;
+		private final Position position;
+		private final String bestText;
+		// An Entry has-a bestMoves and avoidMoves (the bm and am operations)
+		private final int[] bestMoves;
+		private final int[] avoidMoves;
+		// An Entry has-a result (filled in by the worker that searched it)
+		private int chosenMove = Move.NONE;
+		private long nodes;
+
+		private Entry(String id, Position position, String bestText, int[] bestMoves, int[] avoidMoves) {
+			this.id = id;
+			this.position = position;
+			this.bestText = bestText;
+			this.bestMoves = bestMoves;
+			this.avoidMoves = avoidMoves;
+		}
+
+		boolean isSolved() {
+			return chosenMove != Move.NONE && (bestMoves.length == 0 || contains(bestMoves, chosenMove))
+					&& !contains(avoidMoves, chosenMove);
+		}
+
+		private static boolean contains(int[] moves, int move) {
+			for (int candidate : moves) {
+				if (candidate == move) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Reads one EPD line.
+	 *
+	 * @param number the line number, used as the id when there is no id
+	 *               operation
+	 * @throws IllegalArgumentException if the position or a bm/am move is not
+	 *                                  valid
+	 */
+	static Entry parse(String line, int number) {
+		String[] fields = line.trim().split("\\s+", 5);
+		if (fields.length < 4) {
+			throw new IllegalArgumentException("EPD needs at least 4 fields: " + line);
+		}
+		Position position = Fen.parse(fields[0] + " " + fields[1] + " " + fields[2] + " " + fields[3]);
+		String id = "line " + number;
+		String bestText = "";
+		int[] bestMoves = new int[0];
+		int[] avoidMoves = new int[0];
+		if (fields.length == 5) {
+			for (String operation : fields[4].split(";")) {
+				String[] words = operation.trim().split("\\s+", 2);
+				if (words.length < 2) {
+					continue;
+				}
+				switch (words[0]) {
+				case "id":
+					id = words[1].replace("\"", "");
+					break;
+				case "bm":
+					bestText = words[1];
+					bestMoves = parseMoves(position, words[1], line);
+					break;
+				case "am":
+					avoidMoves = parseMoves(position, words[1], line);
+					break;
+				default:
+					// Other operations (c0, hmvc, ...) are not needed here
+				}
+			}
+		}
+		return new Entry(id, position, bestText, bestMoves, avoidMoves);
+	}
+
+	private static int[] parseMoves(Position position, String text, String line) {
+		String[] words = text.trim().split("\\s+");
+		int[] moves = new int[words.length];
+		for (int index = 0; index < words.length; index++) {
+			moves[index] = San.parse(position, words[index]);
+			if (moves[index] == Move.NONE) {
+				throw new IllegalArgumentException("Bad move '" + words[index] + "' in EPD: " + line);
+			}
+		}
+		return moves;
+	}
+
+	/**
+	 * Searches every entry for the given time, spread over the worker threads.
+	 *
+	 * @return the wall clock time in milliseconds
+	 */
+	static long run(List<Entry> entries, long moveTime, int threads, int megabytes) throws InterruptedException {
+		AtomicInteger next = new AtomicInteger();
+		Thread[] workers = new Thread[threads];
+		long start = System.nanoTime();
+		for (int index = 0; index < threads; index++) {
+			workers[index] = new Thread(() -> {
+				Search search = new Search(new TranspositionTable(megabytes));
+				int entryIndex;
+				while ((entryIndex = next.getAndIncrement()) < entries.size()) {
+					Entry entry = entries.get(entryIndex);
+					search.clearHeuristics();
+					entry.chosenMove = search.search(entry.position, SearchLimits.moveTime(moveTime));
+					entry.nodes = search.getNodes();
+				}
+			}, "epd-" + index);
+			workers[index].start();
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		return (System.nanoTime() - start) / 1000000;
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		List<String> lines = args.length > 0 ? Files.readAllLines(Paths.get(args[0]), StandardCharsets.UTF_8)
+				: Arrays.asList(SAMPLE_SUITE);
+		long moveTime = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+		int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		int megabytes = args.length > 3 ? Integer.parseInt(args[3]) : 16;
+
+		List<Entry> entries = new ArrayList<>();
+		for (int index = 0; index < lines.size(); index++) {
+			String line = lines.get(index).trim();
+			if (!line.isEmpty() && !line.startsWith("#")) {
+				entries.add(parse(line, index + 1));
+			}
+		}
+
+		System.out.println(entries.size() + " positions, " + moveTime + " ms each, " + threads + " threads, "
+				+ megabytes + " MB hash per thread");
+		long elapsed = run(entries, moveTime, threads, megabytes);
+		int solved = 0;
+		long nodes = 0;
+		for (Entry entry : entries) {
+			solved += entry.isSolved() ? 1 : 0;
+			nodes += entry.nodes;
+			System.out.printf("%-12s %-8s bm %-12s %s%n", entry.id,
+					entry.chosenMove == Move.NONE ? "none" : San.toSan(entry.position, entry.chosenMove), entry.bestText,
+					entry.isSolved() ? "solved" : "FAILED");
+		}
+		System.out.printf("Solved %d of %d in %d ms, %d nodes, %,d nps%n", solved, entries.size(), elapsed, nodes,
+				nodes * 1000 / Math.max(1, elapsed));
+	}
+}
@@ -0,0 +1,151 @@
+package engine;
+
+import piece.Position;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Static evaluation used by the search: material plus piece-square tables
+ * (Michniewski's "Simplified Evaluation Function"), with the king table
+ * blended from middlegame to endgame as pieces come off the board.
+ *
+ * The tables are written from white's point of view with rank 8 on the first
+ * line, which is exactly the Position square order; black pieces look up the
+ * vertically mirrored square.
+ */
+public final class Evaluation {
+
+	// Material values in centipawns, indexed by Position piece type
+	public static final int[] PIECE_VALUES = { 100, 320, 330, 500, 900, 0 };
+
+	// Game phase weight of each piece type and the phase of the start position
+	private static final int[] PHASE_WEIGHTS = { 0, 1, 1, 2, 4, 0 };
+	private static final int MAX_PHASE = 24;
+
+	private static final int[] PAWN_TABLE = {
+			0, 0, 0, 0, 0, 0, 0, 0,
+			50, 50, 50, 50, 50, 50, 50, 50,
+			10, 10, 20, 30, 30, 20, 10, 10,
+			5, 5, 10, 25, 25, 10, 5, 5,
+			0, 0, 0, 20, 20, 0, 0, 0,
+			5, -5, -10, 0, 0, -10, -5, 5,
+			5, 10, 10, -20, -20, 10, 10, 5,
+			0, 0, 0, 0, 0, 0, 0, 0 };
+
+	private static final int[] KNIGHT_TABLE = {
+			-50, -40, -30, -30, -30, -30, -40, -50,
+			-40, -20, 0, 0, 0, 0, -20, -40,
+			-30, 0, 10, 15, 15, 10, 0, -30,
+			-30, 5, 15, 20, 20, 15, 5, -30,
+			-30, 0, 15, 20, 20, 15, 0, -30,
+			-30, 5, 10, 15, 15, 10, 5, -30,
+			-40, -20, 0, 5, 5, 0, -20, -40,
+			-50, -40, -30, -30, -30, -30, -40, -50 };
+
+	private static final int[] BISHOP_TABLE = {
+			-20, -10, -10, -10, -10, -10, -10, -20,
+			-10, 0, 0, 0, 0, 0, 0, -10,
+			-10, 0, 5, 10, 10, 5, 0, -10,
+			-10, 5, 5, 10, 10, 5, 5, -10,
+			-10, 0, 10, 10, 10, 10, 0, -10,
+			-10, 10, 10, 10, 10, 10, 10, -10,
+			-10, 5, 0, 0, 0, 0, 5, -10,
+			-20, -10, -10, -10, -10, -10, -10, -20 };
+
+	private static final int[] ROOK_TABLE = {
+			0, 0, 0, 0, 0, 0, 0, 0,
+			5, 10, 10, 10, 10, 10, 10, 5,
+			-5, 0, 0, 0, 0, 0, 0, -5,
+			-5, 0, 0, 0, 0, 0, 0, -5,
+			-5, 0, 0, 0, 0, 0, 0, -5,
+			-5, 0, 0, 0, 0, 0, 0, -5,
+			-5, 0, 0, 0, 0, 0, 0, -5,
+			0, 0, 0, 5, 5, 0, 0, 0 };
+
+	private static final int[] QUEEN_TABLE = {
+			-20, -10, -10, -5, -5, -10, -10, -20,
+			-10, 0, 0, 0, 0, 0, 0, -10,
+			-10, 0, 5, 5, 5, 5, 0, -10,
+			-5, 0, 5, 5, 5, 5, 0, -5,
+			0, 0, 5, 5, 5, 5, 0, -5,
+			-10, 5, 5, 5, 5, 5, 0, -10,
+			-10, 0, 5, 0, 0, 0, 0, -10,
+			-20, -10, -10, -5, -5, -10, -10, -20 };
+
+	private static final int[] KING_MIDDLEGAME_TABLE = {
+			-30, -40, -40, -50, -50, -40, -40, -30,
+			-30, -40, -40, -50, -50, -40, -40, -30,
+			-30, -40, -40, -50, -50, -40, -40, -30,
+			-30, -40, -40, -50, -50, -40, -40, -30,
+			-20, -30, -30, -40, -40, -30, -30, -20,
+			-10, -20, -20, -20, -20, -20, -20, -10,
+			20, 20, 0, 0, 0, 0, 20, 20,
+			20, 30, 10, 0, 0, 10, 30, 20 };
+
+	private static final int[] KING_ENDGAME_TABLE = {
+			-50, -40, -30, -20, -20, -30, -40, -50,
+			-30, -20, -10, 0, 0, -10, -20, -30,
+			-30, -10, 20, 30, 30, 20, -10, -30,
+			-30, -10, 30, 40, 40, 30, -10, -30,
+			-30, -10, 30, 40, 40, 30, -10, -30,
+			-30, -10, 20, 30, 30, 20, -10, -30,
+			-30, -30, 0, 0, 0, 0, -30, -30,
+			-50, -30, -30, -30, -30, -30, -30, -50 };
+
+	// Piece-square tables indexed by Position piece type (the king uses the
+	// middlegame table here and is blended separately)
+	private static final int[][] TABLES = { PAWN_TABLE, KNIGHT_TABLE, BISHOP_TABLE, ROOK_TABLE, QUEEN_TABLE,
+			KING_MIDDLEGAME_TABLE };
+
+	private Evaluation() {
+	}
+
+	/**
+	 * @return the score of the position in centipawns from the point of view of
+	 *         the side to move
+	 */
+	public static int evaluate(Position position) {
+		int score = 0;
+		int phase = 0;
+		for (int type = Position.PAWN; type < Position.KING; type++) {
+			int[] table = TABLES[type];
+			long whitePieces = position.getPieces(Position.WHITE, type);
+			long blackPieces = position.getPieces(Position.BLACK, type);
+			phase += PHASE_WEIGHTS[type] * (Long.bitCount(whitePieces) + Long.bitCount(blackPieces));
+			while (whitePieces != 0) {
+				int square = Long.numberOfTrailingZeros(whitePieces);
+				whitePieces &= whitePieces - 1;
+				score += PIECE_VALUES[type] + table[square];
+			}
+			while (blackPieces != 0) {
+				int square = Long.numberOfTrailingZeros(blackPieces);
+				blackPieces &= blackPieces - 1;
+				score -= PIECE_VALUES[type] + table[square ^ 56];
+			}
+		}
+
+		// Kings: blend the two tables by how much material is left
+		phase = Math.min(phase, MAX_PHASE);
+		int whiteKing = position.getKingSquare(Position.WHITE);
+		int blackKing = position.getKingSquare(Position.BLACK);
+		if (whiteKing < 64) {
+			score += (KING_MIDDLEGAME_TABLE[whiteKing] * phase
+					+ KING_ENDGAME_TABLE[whiteKing] * (MAX_PHASE - phase)) / MAX_PHASE;
+		}
+		if (blackKing < 64) {
+			score -= (KING_MIDDLEGAME_TABLE[blackKing ^ 56] * phase
+					+ KING_ENDGAME_TABLE[blackKing ^ 56] * (MAX_PHASE - phase)) / MAX_PHASE;
+		}
+
+		return position.getSideToMove() == Position.WHITE ? score : -score;
+	}
+}
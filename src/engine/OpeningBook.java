@@ -0,0 +1,231 @@
+package engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import piece.Fen;
+import piece.Move;
+import piece.Position;
+import piece.Rules;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Opening book in the Polyglot .bin layout: 16-byte big-endian entries of
+ * key u64, move u16, weight u16 and learn u32, sorted by key (unsigned), so
+ * every move of a position sits in one run of entries.
+ *
+ * The key is the Polyglot key (PolyglotKey), so books written by other
+ * Polyglot tools and by game.BookBuilder both work. Moves use the Polyglot
+ * encoding: to file, to rank, from file, from rank (3 bits each) and a
+ * promotion piece, with castling written as the king taking its own rook.
+ *
+ * The file is memory-mapped and binary searched, so a probe reads a few cache
+ * lines of the map and allocates nothing. One book can be probed by any
+ * number of threads.
+ */
+public class OpeningBook implements Closeable {
+
+	// Bytes per entry
+	public static final int ENTRY_SIZE = 16;
+
+	// A OpeningBook has-a channel and data (the whole file, mapped read only)
+	private final FileChannel channel;
+	private final ByteBuffer data;
+	// A OpeningBook has-a entryCount
+	private final int entryCount;
+
+	private OpeningBook(FileChannel channel) throws IOException {
+		this.channel = channel;
+		long size = channel.size();
+		if (size % ENTRY_SIZE != 0 || size > Integer.MAX_VALUE) {
+			throw new IOException("Not an opening book: size " + size);
+		}
+		// Polyglot books are big-endian, which is the ByteBuffer default
+		data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		entryCount = (int) (size / ENTRY_SIZE);
+	}
+
+	/**
+	 * Maps a book file for reading.
+	 */
+	public static OpeningBook open(Path file) throws IOException {
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			return new OpeningBook(channel);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	public int getEntryCount() {
+		return entryCount;
+	}
+
+	/**
+	 * Picks a book move at random, each move in proportion to its weight.
+	 *
+	 * @return the encoded move, or Move.NONE if the position is not in the book
+	 */
+	public int probe(Position position) {
+		long key = PolyglotKey.of(position);
+		int first = findFirst(key);
+		int total = 0;
+		for (int index = first; index < entryCount && keyAt(index) == key; index++) {
+			total += weightAt(index);
+		}
+		if (total == 0) {
+			return Move.NONE;
+		}
+		int pick = ThreadLocalRandom.current().nextInt(total);
+		for (int index = first;; index++) {
+			pick -= weightAt(index);
+			if (pick < 0) {
+				return fromBookMove(position, moveAt(index));
+			}
+		}
+	}
+
+	/**
+	 * Copies every book move of a position with its weight, in book order.
+	 *
+	 * @return the number of moves copied (moves that are not legal here, from
+	 *         a key collision, are left out)
+	 */
+	public int getMoves(Position position, int[] moves, int[] weights) {
+		long key = PolyglotKey.of(position);
+		int count = 0;
+		int index = findFirst(key);
+		for (; index < entryCount && keyAt(index) == key && count < moves.length; index++) {
+			int move = fromBookMove(position, moveAt(index));
+			if (move != Move.NONE) {
+				moves[count] = move;
+				weights[count++] = weightAt(index);
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	// ====== ENTRIES ======
+
+	/**
+	 * @return the first entry whose key is not below the given key
+	 */
+	private int findFirst(long key) {
+		int low = 0;
+		int high = entryCount;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (Long.compareUnsigned(keyAt(middle), key) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private long keyAt(int index) {
+		return data.getLong(index * ENTRY_SIZE);
+	}
+
+	private int moveAt(int index) {
+		return data.getShort(index * ENTRY_SIZE + 8) & 0xFFFF;
+	}
+
+	private int weightAt(int index) {
+		return data.getShort(index * ENTRY_SIZE + 10) & 0xFFFF;
+	}
+
+	// ====== MOVE ENCODING ======
+
+	/**
+	 * @return the move in Polyglot encoding
+	 */
+	public static int toBookMove(int move) {
+		int from = Move.from(move);
+		int to = Move.to(move);
+		if (Move.isCastle(move)) {
+			// The king "takes" its own rook
+			to = Position.square(Move.flags(move) == Move.KING_CASTLE ? 7 : 0, Position.rowOf(from));
+		}
+		int promotion = Move.isPromotion(move) ? Move.promotionType(move) - Position.KNIGHT + 1 : 0;
+		return Position.colOf(to) | (7 - Position.rowOf(to)) << 3 | Position.colOf(from) << 6
+				| (7 - Position.rowOf(from)) << 9 | promotion << 12;
+	}
+
+	/**
+	 * @return the legal move a Polyglot move stands for, or Move.NONE
+	 */
+	public static int fromBookMove(Position position, int bookMove) {
+		int to = Position.square(bookMove & 7, 7 - (bookMove >>> 3 & 7));
+		int from = Position.square(bookMove >>> 6 & 7, 7 - (bookMove >>> 9 & 7));
+		int promotion = bookMove >>> 12 & 7;
+		int us = position.getSideToMove();
+		if (position.getPiece(from) == Position.pieceCode(us, Position.KING)
+				&& position.getPiece(to) == Position.pieceCode(us, Position.ROOK)) {
+			to = from + (to > from ? 2 : -2);
+		}
+		int move = Rules.findLegalMove(position, from, to,
+				promotion == 0 ? Position.QUEEN : Position.KNIGHT + promotion - 1);
+		return move != Move.NONE && Move.isPromotion(move) == (promotion != 0) ? move : Move.NONE;
+	}
+
+	/**
+	 * Lists the book moves of a position and times probes of it.
+	 *
+	 * Usage: java engine.OpeningBook book.bin [fen]
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.out.println("Usage: java engine.OpeningBook book.bin [fen]");
+			return;
+		}
+		Position position = Fen.parse(
+				args.length > 1 ? String.join(" ", Arrays.copyOfRange(args, 1, args.length)) : Fen.START_POSITION);
+		try (OpeningBook book = open(Paths.get(args[0]))) {
+			int[] moves = new int[256];
+			int[] weights = new int[256];
+			int count = book.getMoves(position, moves, weights);
+			System.out.println(book.getEntryCount() + " entries, " + count + " moves here");
+			for (int index = 0; index < count; index++) {
+				System.out.println(Move.toUci(moves[index]) + " " + weights[index]);
+			}
+			// Two passes: the first warms up the JIT
+			int probes = 1_000_000;
+			for (int pass = 0; pass < 2; pass++) {
+				int found = 0;
+				long start = System.nanoTime();
+				for (int probe = 0; probe < probes; probe++) {
+					if (book.probe(position) != Move.NONE) {
+						found++;
+					}
+				}
+				System.out.printf("%d probes (%d found): %.0f ns per probe%n", probes, found,
+						(System.nanoTime() - start) / (double) probes);
+			}
+		}
+	}
+}
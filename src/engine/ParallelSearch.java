@@ -0,0 +1,327 @@
+package engine;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import piece.Fen;
+import piece.Position;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Lazy SMP: the same search run on several threads at once over one shared
+ * TranspositionTable.
+ *
+ * Every thread owns a Search, and with it its own position, move
+ * buffers, killers and history, so the only thing the threads share is the
+ * lock-free table. Helper threads skip some iteration depths (see
+ * Search.setThreadIndex) so they fill the table with results the main thread
+ * has not reached yet. The search runs only on Position objects; nothing from
+ * the GUI (GamePanel and its piece lists) is touched.
+ *
+ * The main thread runs on the caller's thread and alone applies the limits.
+ * When it finishes, or stop() is called, the helpers are stopped and joined
+ * before the result is picked: the thread with the deepest completed
+ * iteration, ties going to the lowest thread index, so the main thread wins
+ * unless a helper really got further.
+ */
+public class ParallelSearch {
+
+	// Most threads the Threads option accepts
+	public static final int MAX_THREADS = 256;
+
+	// A ParallelSearch has-a table (shared by every thread)
+	private final TranspositionTable table;
+	// A ParallelSearch has-a searches (one per thread; index 0 is the main thread)
+	private Search[] searches;
+	// A ParallelSearch has-a helpers (pool running searches 1..n-1)
+	private ExecutorService helpers;
+	// A ParallelSearch has-a root (private copy of the position being searched)
+	private final Position root = new Position();
+	// A ParallelSearch has-a listener (progress of the main thread; may be null)
+	private SearchListener listener;
+	// A ParallelSearch has-a tablebases (given to every thread; may be null)
+	private Tablebases tablebases;
+	// A ParallelSearch has-a bestThread (index of the search the result came from)
+	private int bestThread;
+	// A ParallelSearch has-a stopRequested (set by stop, cleared only by
+	// resetStop, so a stop that arrives before search starts is not lost)
+	private volatile boolean stopRequested;
+
+	public ParallelSearch(TranspositionTable table, int threads) {
+		this.table = table;
+		setThreads(threads);
+	}
+
+	/**
+	 * Sets the number of search threads. Must not be called while a search is
+	 * running; killers and history start empty, the listener is kept.
+	 */
+	public void setThreads(int threads) {
+		threads = Math.max(1, Math.min(threads, MAX_THREADS));
+		shutdown();
+		searches = new Search[threads];
+		for (int index = 0; index < threads; index++) {
+			searches[index] = new Search(table);
+			searches[index].setThreadIndex(index);
+		}
+		if (threads > 1) {
+			helpers = Executors.newFixedThreadPool(threads - 1, task -> {
+				Thread thread = new Thread(task, "search-helper");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		bestThread = 0;
+		setListener(listener);
+		setTablebases(tablebases);
+	}
+
+	/** Stops the helper threads; the object can be reused after setThreads. */
+	public void shutdown() {
+		if (helpers != null) {
+			helpers.shutdownNow();
+			helpers = null;
+		}
+	}
+
+	/**
+	 * Sets the keys of the positions played before the root on every thread.
+	 */
+	public void setGameHistory(long[] gameKeys, int count) {
+		for (Search search : searches) {
+			search.setGameHistory(gameKeys, count);
+		}
+	}
+
+	/** Forgets killer moves and history scores on every thread. */
+	public void clearHeuristics() {
+		for (Search search : searches) {
+			search.clearHeuristics();
+		}
+	}
+
+	/**
+	 * Reports the main thread's iterations to the listener, with the nodes of
+	 * every thread added up.
+	 *
+	 * @param listener receives every iteration the main thread completes, or
+	 *                 null for none
+	 */
+	public void setListener(SearchListener listener) {
+		this.listener = listener;
+		searches[0].setListener(listener == null ? null
+				: (depth, score, nodes, elapsedMillis, pv, pvLength) -> listener.iterationCompleted(depth, score,
+						getNodes(), elapsedMillis, pv, pvLength));
+	}
+
+	/**
+	 * @param tablebases probed by every thread, or null for none
+	 */
+	public void setTablebases(Tablebases tablebases) {
+		this.tablebases = tablebases;
+		for (Search search : searches) {
+			search.setTablebases(tablebases);
+		}
+	}
+
+	/**
+	 * Asks a running search to stop. The main thread stops first and then
+	 * stops the helpers, so the stop can be sent from any thread at any time.
+	 * A stop sent before search starts ends that search at once; it stays in
+	 * effect until resetStop.
+	 */
+	public void stop() {
+		stopRequested = true;
+		searches[0].stop();
+	}
+
+	/**
+	 * Clears an earlier stop. A caller that runs search on another thread calls
+	 * this on its own thread before starting that thread.
+	 */
+	public void resetStop() {
+		stopRequested = false;
+	}
+
+	/**
+	 * Searches the position on every thread until the main thread's limits are
+	 * reached. The node limit counts only the main thread's nodes.
+	 *
+	 * @return the best move found, or Move.NONE if the side to move has no legal
+	 *         move
+	 */
+	public int search(Position position, SearchLimits limits) {
+		// Every thread copies root while the others run, so its caches are
+		// filled here and it is only read from now on
+		root.copyFrom(position);
+		root.fillCaches();
+		table.newSearch();
+		for (Search search : searches) {
+			search.resetStop();
+		}
+		// stop sets the flag before stopping the main thread, so a stop that
+		// raced with the reset above is seen here
+		if (stopRequested) {
+			searches[0].stop();
+		}
+
+		// Helpers only stop at the same depth limit or when told to
+		SearchLimits helperLimits = new SearchLimits();
+		helperLimits.setDepth(limits.getDepth());
+		helperLimits.setInfinite(true);
+		Future<?>[] futures = new Future<?>[searches.length - 1];
+		for (int index = 1; index < searches.length; index++) {
+			Search helper = searches[index];
+			futures[index - 1] = helpers.submit(() -> helper.run(root, helperLimits));
+		}
+
+		try {
+			searches[0].run(root, limits);
+		} finally {
+			for (int index = 1; index < searches.length; index++) {
+				searches[index].stop();
+			}
+			awaitHelpers(futures);
+		}
+
+		bestThread = 0;
+		for (int index = 1; index < searches.length; index++) {
+			if (searches[index].getCompletedDepth() > searches[bestThread].getCompletedDepth()) {
+				bestThread = index;
+			}
+		}
+		return getBestMove();
+	}
+
+	private static void awaitHelpers(Future<?>[] futures) {
+		boolean interrupted = false;
+		for (Future<?> future : futures) {
+			while (true) {
+				try {
+					future.get();
+					break;
+				} catch (InterruptedException e) {
+					interrupted = true;
+				} catch (ExecutionException e) {
+					throw new IllegalStateException("search helper failed", e.getCause());
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	// ====== RESULTS ======
+
+	public int getThreads() {
+		return searches.length;
+	}
+
+	/**
+	 * @return the main thread's search, which reports progress for the group
+	 */
+	public Search getMainSearch() {
+		return searches[0];
+	}
+
+	public int getBestMove() {
+		return searches[bestThread].getBestMove();
+	}
+
+	public int getBestScore() {
+		return searches[bestThread].getBestScore();
+	}
+
+	public int getCompletedDepth() {
+		return searches[bestThread].getCompletedDepth();
+	}
+
+	public int getPrincipalVariation(int[] buffer) {
+		return searches[bestThread].getPrincipalVariation(buffer);
+	}
+
+	/**
+	 * @return the nodes searched by all threads; exact once search has returned
+	 */
+	public long getNodes() {
+		long total = 0;
+		for (Search search : searches) {
+			total += search.getNodes();
+		}
+		return total;
+	}
+
+	public long getElapsedMillis() {
+		return searches[0].getElapsedMillis();
+	}
+
+	// ====== SCALING BENCHMARK ======
+
+	/**
+	 * Searches the Perft reference positions to a fixed depth with 1, 2, 4, ...
+	 * threads up to the maximum and prints nodes per second and time to depth
+	 * for each thread count, relative to one thread. The table is cleared
+	 * before every position so each run starts cold.
+	 *
+	 * Usage: java engine.ParallelSearch [depth] [max threads] [hash MB]
+	 */
+	public static void main(String[] args) {
+		int depth = args.length > 0 ? Integer.parseInt(args[0]) : 9;
+		int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		int megabytes = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+		TranspositionTable table = new TranspositionTable(megabytes);
+		Position[] positions = new Position[Perft.REFERENCE_POSITIONS.length];
+		for (int index = 0; index < positions.length; index++) {
+			positions[index] = Fen.parse(Perft.REFERENCE_POSITIONS[index].getFen());
+		}
+
+		// Warm up the JIT so the single thread run is not penalised
+		ParallelSearch warmup = new ParallelSearch(table, 1);
+		for (Position position : positions) {
+			warmup.search(position, SearchLimits.depth(Math.max(1, depth - 2)));
+		}
+
+		System.out.println("depth " + depth + ", " + positions.length + " positions, hash " + megabytes + " MB");
+		System.out.println("threads       time ms          nodes        nps   speedup  nps ratio");
+		long baseTime = 0;
+		long baseNps = 0;
+		// 1, 2, 4, ... and finally maxThreads itself if it is not a power of two
+		for (int threads = 1; threads <= maxThreads; threads = threads < maxThreads
+				? Math.min(threads * 2, maxThreads)
+				: threads + 1) {
+			ParallelSearch search = new ParallelSearch(table, threads);
+			long totalNanos = 0;
+			long totalNodes = 0;
+			for (Position position : positions) {
+				table.clear();
+				search.clearHeuristics();
+				long start = System.nanoTime();
+				search.search(position, SearchLimits.depth(depth));
+				totalNanos += System.nanoTime() - start;
+				totalNodes += search.getNodes();
+			}
+			search.shutdown();
+			long millis = Math.max(1, totalNanos / 1000000);
+			long nps = totalNodes * 1000 / millis;
+			if (threads == 1) {
+				baseTime = millis;
+				baseNps = nps;
+			}
+			System.out.printf("%7d %13d %14d %10d %8.2fx %9.2fx%n", threads, millis, totalNodes, nps,
+					(double) baseTime / millis, (double) nps / Math.max(1, baseNps));
+		}
+	}
+}
@@ -0,0 +1,293 @@
+package engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import piece.Fen;
+import piece.Move;
+import piece.MoveGenerator;
+import piece.Position;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Performance test (perft): counts the leaf nodes of the legal move tree to a
+ * fixed depth. Comparing the counts with the published numbers for the
+ * reference positions below checks every move rule, and the time taken gives
+ * the move generation speed in nodes per second.
+ *
+ * Usage: java engine.Perft bench [depth] | perft depth [fen] | divide depth
+ * [fen]
+ */
+public class Perft {
+
+	/**
+	 * A well known test position with its published node counts for depth 1, 2,
+	 * 3, ...
+	 */
+	public static final class ReferencePosition {
+		// A ReferencePosition has-a name, fen and nodeCounts
+		private final String name;
+		private final String fen;
+		private final long[] nodeCounts;
+
+		ReferencePosition(String name, String fen, long... nodeCounts) {
+			this.name = name;
+			this.fen = fen;
+			this.nodeCounts = nodeCounts;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getFen() {
+			return fen;
+		}
+
+		/**
+		 * @return the expected leaf count at the depth, or -1 if not known
+		 */
+		public long getNodeCount(int depth) {
+			return depth >= 1 && depth <= nodeCounts.length ? nodeCounts[depth - 1] : -1;
+		}
+
+		public int getMaxDepth() {
+			return nodeCounts.length;
+		}
+	}
+
+	// Standard perft positions from the Chess Programming Wiki
+	public static final ReferencePosition[] REFERENCE_POSITIONS = {
+			new ReferencePosition("Start position", Fen.START_POSITION, 20L, 400L, 8902L, 197281L, 4865609L,
+					119060324L),
+			new ReferencePosition("Kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+					48L, 2039L, 97862L, 4085603L, 193690690L),
+			new ReferencePosition("Position 3", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 14L, 191L, 2812L,
+					43238L, 674624L, 11030083L),
+			new ReferencePosition("Position 4", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+					6L, 264L, 9467L, 422333L, 15833292L),
+			new ReferencePosition("Position 5", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8", 44L,
+					1486L, 62379L, 2103487L, 89941194L),
+			new ReferencePosition("Position 6",
+					"r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10", 46L, 2079L, 89890L,
+					3894594L, 164075551L) };
+
+	// Largest reference count the bench runs when no depth is given
+	private static final long DEFAULT_BENCH_NODE_LIMIT = 20000000L;
+
+	// A Perft has-a position (walked through the tree with make/unmake)
+	private final Position position = new Position();
+	// A Perft has-a moveBuffers (one move list per ply)
+	private final int[][] moveBuffers;
+
+	public Perft(int maxDepth) {
+		moveBuffers = new int[maxDepth + 1][MoveGenerator.MAX_MOVES];
+	}
+
+	/**
+	 * Counts the leaf nodes below the position on a single thread.
+	 */
+	public long count(Position root, int depth) {
+		position.copyFrom(root);
+		return countNodes(0, depth);
+	}
+
+	private long countNodes(int ply, int depth) {
+		if (depth == 0) {
+			return 1;
+		}
+		int[] moves = moveBuffers[ply];
+		int moveCount = MoveGenerator.generateLegal(position, moves);
+		// Bulk count: the legal moves at the last ply are the leaves
+		if (depth == 1) {
+			return moveCount;
+		}
+		long nodes = 0;
+		for (int index = 0; index < moveCount; index++) {
+			position.makeMove(moves[index]);
+			nodes += countNodes(ply + 1, depth - 1);
+			position.unmakeMove(moves[index]);
+		}
+		return nodes;
+	}
+
+	/**
+	 * Counts the leaves below each root move, splitting the root moves across
+	 * the pool so every core works on its own subtree.
+	 *
+	 * @param root      the position to count from
+	 * @param depth     the depth to count to (at least 1)
+	 * @param rootMoves receives the legal root moves; at least MAX_MOVES long
+	 * @param pool      the pool the subtrees run on
+	 * @return the number of root moves; the leaf count of rootMoves[i] is
+	 *         returned in counts[i]
+	 */
+	public static int divide(Position root, int depth, int[] rootMoves, long[] counts, ForkJoinPool pool) {
+		int moveCount = MoveGenerator.generateLegal(root, rootMoves);
+		SubtreeTask[] tasks = new SubtreeTask[moveCount];
+		for (int index = 0; index < moveCount; index++) {
+			tasks[index] = new SubtreeTask(root, rootMoves[index], depth - 1);
+		}
+		pool.invoke(new RecursiveTask<Void>() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected Void compute() {
+				invokeAll(tasks);
+				return null;
+			}
+		});
+		for (int index = 0; index < moveCount; index++) {
+			counts[index] = tasks[index].join();
+		}
+		return moveCount;
+	}
+
+	/**
+	 * Counts the leaf nodes below the position using every core of the pool.
+	 */
+	public static long countParallel(Position root, int depth, ForkJoinPool pool) {
+		if (depth <= 1) {
+			return new Perft(depth).count(root, depth);
+		}
+		int[] rootMoves = new int[MoveGenerator.MAX_MOVES];
+		long[] counts = new long[MoveGenerator.MAX_MOVES];
+		int moveCount = divide(root, depth, rootMoves, counts, pool);
+		long nodes = 0;
+		for (int index = 0; index < moveCount; index++) {
+			nodes += counts[index];
+		}
+		return nodes;
+	}
+
+	/**
+	 * Counts the subtree below one root move with its own Perft and position.
+	 */
+	private static final class SubtreeTask extends RecursiveTask<Long> {
+		private static final long serialVersionUID = 1L;
+
+		// A SubtreeTask has-a position (the root after the move) and depth
+		private final Position position = new Position();
+		private final int depth;
+
+		SubtreeTask(Position root, int move, int depth) {
+			position.copyFrom(root);
+			position.makeMove(move);
+			this.depth = depth;
+		}
+
+		@Override
+		protected Long compute() {
+			return new Perft(depth).count(position, depth);
+		}
+	}
+
+	// ====== COMMAND LINE ======
+
+	public static void main(String[] args) {
+		String mode = args.length > 0 ? args[0] : "bench";
+		ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		try {
+			if (mode.equals("bench")) {
+				int depth = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+				boolean passed = runBench(depth, pool);
+				System.exit(passed ? 0 : 1);
+			} else if (mode.equals("perft") || mode.equals("divide")) {
+				int depth = Integer.parseInt(args[1]);
+				String fen = args.length > 2 ? joinFrom(args, 2) : Fen.START_POSITION;
+				runDivide(Fen.parse(fen), depth, mode.equals("divide"), pool);
+			} else {
+				System.out.println("Usage: Perft bench [depth] | perft depth [fen] | divide depth [fen]");
+			}
+		} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			System.out.println("Usage: Perft bench [depth] | perft depth [fen] | divide depth [fen]");
+			System.out.println(e.getMessage());
+		}
+	}
+
+	/**
+	 * Runs every reference position and compares the counts with the published
+	 * numbers. With depth 0 each position runs to the deepest count up to
+	 * DEFAULT_BENCH_NODE_LIMIT.
+	 *
+	 * @return true if every count matched
+	 */
+	public static boolean runBench(int depth, ForkJoinPool pool) {
+		boolean passed = true;
+		long totalNodes = 0;
+		long totalNanos = 0;
+		for (ReferencePosition reference : REFERENCE_POSITIONS) {
+			int benchDepth = depth > 0 ? Math.min(depth, reference.getMaxDepth()) : 1;
+			if (depth <= 0) {
+				while (benchDepth < reference.getMaxDepth()
+						&& reference.getNodeCount(benchDepth + 1) <= DEFAULT_BENCH_NODE_LIMIT) {
+					benchDepth++;
+				}
+			}
+			Position position = Fen.parse(reference.getFen());
+			long start = System.nanoTime();
+			long nodes = countParallel(position, benchDepth, pool);
+			long elapsed = System.nanoTime() - start;
+			long expected = reference.getNodeCount(benchDepth);
+			boolean matched = nodes == expected;
+			passed &= matched;
+			totalNodes += nodes;
+			totalNanos += elapsed;
+			System.out.printf("%-15s depth %d  nodes %12d  expected %12d  %s  %6d ms  %,d nps%n", reference.getName(),
+					benchDepth, nodes, expected, matched ? "OK  " : "FAIL", elapsed / 1000000,
+					nodesPerSecond(nodes, elapsed));
+		}
+		System.out.printf("Total %d nodes in %d ms, %,d nps, %d threads: %s%n", totalNodes, totalNanos / 1000000,
+				nodesPerSecond(totalNodes, totalNanos), pool.getParallelism(), passed ? "PASSED" : "FAILED");
+		return passed;
+	}
+
+	private static void runDivide(Position position, int depth, boolean printDivide, ForkJoinPool pool) {
+		long start = System.nanoTime();
+		long nodes;
+		if (depth >= 1) {
+			int[] rootMoves = new int[MoveGenerator.MAX_MOVES];
+			long[] counts = new long[MoveGenerator.MAX_MOVES];
+			int moveCount = divide(position, depth, rootMoves, counts, pool);
+			nodes = 0;
+			for (int index = 0; index < moveCount; index++) {
+				if (printDivide) {
+					System.out.println(Move.toUci(rootMoves[index]) + ": " + counts[index]);
+				}
+				nodes += counts[index];
+			}
+		} else {
+			nodes = 1;
+		}
+		long elapsed = System.nanoTime() - start;
+		System.out.println();
+		System.out.println("Nodes: " + nodes);
+		System.out.println("Time: " + elapsed / 1000000 + " ms");
+		System.out.printf("NPS: %,d%n", nodesPerSecond(nodes, elapsed));
+	}
+
+	private static long nodesPerSecond(long nodes, long nanos) {
+		return nanos > 0 ? nodes * 1000000000L / nanos : 0;
+	}
+
+	private static String joinFrom(String[] args, int start) {
+		StringBuilder text = new StringBuilder();
+		for (int index = start; index < args.length; index++) {
+			if (index > start) {
+				text.append(' ');
+			}
+			text.append(args[index]);
+		}
+		return text.toString();
+	}
+}
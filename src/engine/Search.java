@@ -0,0 +1,738 @@
+package engine;
+
+import piece.Fen;
+import piece.Move;
+import piece.MoveGenerator;
+import piece.Position;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Alpha-beta game tree search that picks a move for the side to move.
+ *
+ * The search is a negamax principal variation search run with iterative
+ * deepening (depth 1, 2, 3, ... until the limits run out) and aspiration
+ * windows around the previous iteration's score. Leaves are resolved with a
+ * captures-only quiescence search. Null-move pruning and late move reductions
+ * skip work on moves that are unlikely to matter, and moves are ordered by the
+ * transposition table move, captures by most valuable victim / least valuable
+ * attacker, killer moves, then the history heuristic.
+ *
+ * The search walks a single Position with makeMove/unmakeMove, and every
+ * buffer it needs (move lists, PV table, killers, history) is allocated once
+ * in the constructor, so the search loop itself never allocates.
+ */
+public class Search {
+
+	// Deepest ply the search can reach
+	public static final int MAX_PLY = 128;
+	// Score bounds; a mate found at ply n scores MATE - n
+	public static final int INFINITY = 32000;
+	public static final int MATE = 31000;
+	public static final int MATE_BOUND = MATE - MAX_PLY;
+
+	// Most earlier game positions kept for repetition detection
+	private static final int MAX_GAME_HISTORY = 1024;
+	// How often (in nodes) the clock and node budget are checked
+	private static final int LIMIT_CHECK_INTERVAL = 2048;
+	// Milliseconds kept in reserve on the clock for communication overhead
+	private static final long MOVE_OVERHEAD = 20;
+
+	// Move ordering scores
+	private static final int TT_MOVE_SCORE = 2000000;
+	private static final int CAPTURE_SCORE = 1000000;
+	private static final int PROMOTION_SCORE = 900000;
+	private static final int FIRST_KILLER_SCORE = 800000;
+	private static final int SECOND_KILLER_SCORE = 700000;
+	private static final int HISTORY_LIMIT = 600000;
+
+	// Lazy SMP helper threads skip some iteration depths so they spread out over
+	// different depths; helper n skips depth d when
+	// ((d + SKIP_PHASE[n]) / SKIP_SIZE[n]) is odd
+	private static final int[] SKIP_SIZE = { 1, 1, 2, 2, 2, 2, 3, 3, 3, 3, 3, 3, 4, 4, 4, 4, 4, 4, 4, 4 };
+	private static final int[] SKIP_PHASE = { 0, 1, 0, 1, 2, 3, 0, 1, 2, 3, 4, 5, 0, 1, 2, 3, 4, 5, 6, 7 };
+
+	// Late move reduction amount indexed by [depth][move number]
+	private static final int[][] REDUCTIONS = new int[64][64];
+
+	static {
+		for (int depth = 1; depth < 64; depth++) {
+			for (int moveNumber = 1; moveNumber < 64; moveNumber++) {
+				REDUCTIONS[depth][moveNumber] = (int) (0.75 + Math.log(depth) * Math.log(moveNumber) / 2.25);
+			}
+		}
+	}
+
+	// A Search has-a table (shared transposition table)
+	private final TranspositionTable table;
+	// A Search has-a threadIndex (0 for the main search, 1.. for helpers)
+	private int threadIndex;
+	// A Search has-a position (walked through the tree with make/unmake)
+	private final Position position = new Position();
+	// A Search has-a moveBuffers and scoreBuffers (move list per ply)
+	private final int[][] moveBuffers = new int[MAX_PLY][MoveGenerator.MAX_MOVES];
+	private final int[][] scoreBuffers = new int[MAX_PLY][MoveGenerator.MAX_MOVES];
+	// A Search has-a pvTable (triangular principal variation table)
+	private final int[][] pvTable = new int[MAX_PLY + 1][MAX_PLY + 1];
+	private final int[] pvLength = new int[MAX_PLY + 1];
+	// A Search has-a killers (two quiet moves per ply that caused a cutoff)
+	private final int[][] killers = new int[MAX_PLY][2];
+	// A Search has-a history (cutoff score per color and from/to pair)
+	private final int[][] history = new int[2][64 * 64];
+	// A Search has-a keys (game history followed by the keys along the current
+	// search path, for repetition detection)
+	private final long[] keys = new long[MAX_GAME_HISTORY + MAX_PLY + 1];
+	private int gameHistoryLength;
+
+	// Limits of the running search
+	private long startTime;
+	private long softDeadline;
+	private long hardDeadline;
+	private long nodeLimit;
+	private volatile boolean stopped;
+
+	// Results
+	private long nodes;
+	private int bestMove;
+	private int bestScore;
+	private int completedDepth;
+	private final int[] principalVariation = new int[MAX_PLY];
+	private int principalVariationLength;
+	// A Search has-a listener (told about every completed iteration; may be null)
+	private SearchListener listener;
+	// A Search has-a tablebases (exact results of small endings; may be null)
+	private Tablebases tablebases;
+
+	public Search(TranspositionTable table) {
+		this.table = table;
+	}
+
+	/**
+	 * Sets the keys of the positions played before the root, oldest first, so
+	 * the search can see repetitions of earlier game positions.
+	 */
+	public void setGameHistory(long[] gameKeys, int count) {
+		int kept = Math.min(count, MAX_GAME_HISTORY);
+		System.arraycopy(gameKeys, count - kept, keys, 0, kept);
+		gameHistoryLength = kept;
+	}
+
+	/**
+	 * @param threadIndex 0 for the main search, 1 and up for Lazy SMP helpers,
+	 *                    which skip some iteration depths
+	 */
+	public void setThreadIndex(int threadIndex) {
+		this.threadIndex = threadIndex;
+	}
+
+	/**
+	 * @param listener receives every completed iteration, or null for none
+	 */
+	public void setListener(SearchListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * @param tablebases probed for positions with few pieces, or null for none
+	 */
+	public void setTablebases(Tablebases tablebases) {
+		this.tablebases = tablebases;
+	}
+
+	/** Asks a running search to stop as soon as possible. */
+	public void stop() {
+		stopped = true;
+	}
+
+	/**
+	 * Clears the stop flag and the node count before a search is started with
+	 * run, so progress summed over threads does not count the last search.
+	 */
+	void resetStop() {
+		stopped = false;
+		nodes = 0;
+	}
+
+	/** Forgets killer moves and history scores from earlier searches. */
+	public void clearHeuristics() {
+		for (int ply = 0; ply < MAX_PLY; ply++) {
+			killers[ply][0] = Move.NONE;
+			killers[ply][1] = Move.NONE;
+		}
+		for (int index = 0; index < 64 * 64; index++) {
+			history[Position.WHITE][index] = 0;
+			history[Position.BLACK][index] = 0;
+		}
+	}
+
+	/**
+	 * Searches the position until one of the limits is reached.
+	 *
+	 * @return the best move found, or Move.NONE if the side to move has no legal
+	 *         move
+	 */
+	public int search(Position root, SearchLimits limits) {
+		stopped = false;
+		table.newSearch();
+		return run(root, limits);
+	}
+
+	/**
+	 * Runs the iterative deepening loop without starting a new table generation
+	 * or clearing the stop flag, so several threads can search the same
+	 * generation and a stop that arrives before a helper starts is not lost.
+	 */
+	int run(Position root, SearchLimits limits) {
+		nodes = 0;
+		completedDepth = 0;
+		principalVariationLength = 0;
+		position.copyFrom(root);
+		startClock(limits, root.getSideToMove());
+
+		// Fall back to any legal move if not even depth 1 finishes. Only this
+		// search's own copy is asked, since asking fills the position's caches
+		// and other threads may be copying root
+		int[] rootMoves = moveBuffers[0];
+		if (MoveGenerator.generateLegal(position, rootMoves) == 0) {
+			bestMove = Move.NONE;
+			bestScore = position.isInCheck() ? -MATE : 0;
+			return bestMove;
+		}
+		bestMove = rootMoves[0];
+		bestScore = 0;
+
+		int maxDepth = limits.getDepth() > 0 ? Math.min(limits.getDepth(), MAX_PLY - 1) : MAX_PLY - 1;
+		for (int depth = 1; depth <= maxDepth; depth++) {
+			if (skipsDepth(depth)) {
+				continue;
+			}
+			int score = aspirationSearch(depth, bestScore);
+			if (stopped) {
+				break;
+			}
+			bestScore = score;
+			completedDepth = depth;
+			principalVariationLength = pvLength[0];
+			System.arraycopy(pvTable[0], 0, principalVariation, 0, principalVariationLength);
+			if (principalVariationLength > 0) {
+				bestMove = principalVariation[0];
+			}
+			if (listener != null) {
+				listener.iterationCompleted(depth, score, nodes, getElapsedMillis(), principalVariation,
+						principalVariationLength);
+			}
+			// Do not start an iteration that cannot finish before the soft deadline
+			if (!limits.isInfinite() && System.nanoTime() - startTime > softDeadline / 2) {
+				break;
+			}
+			if (nodeLimit > 0 && nodes >= nodeLimit) {
+				break;
+			}
+			// A mate within the searched depth cannot get any shorter
+			if (!limits.isInfinite() && isMateScore(score) && MATE - Math.abs(score) <= depth) {
+				break;
+			}
+		}
+		return bestMove;
+	}
+
+	private boolean skipsDepth(int depth) {
+		if (threadIndex == 0 || depth == 1) {
+			return false;
+		}
+		int index = (threadIndex - 1) % SKIP_SIZE.length;
+		return ((depth + SKIP_PHASE[index]) / SKIP_SIZE[index]) % 2 != 0;
+	}
+
+	/**
+	 * Searches the root with a narrow window around the previous score,
+	 * widening it whenever the result falls outside.
+	 */
+	private int aspirationSearch(int depth, int previousScore) {
+		int window = 25;
+		int alpha = -INFINITY;
+		int beta = INFINITY;
+		if (depth >= 5) {
+			alpha = Math.max(previousScore - window, -INFINITY);
+			beta = Math.min(previousScore + window, INFINITY);
+		}
+		while (true) {
+			int score = negamax(0, depth, alpha, beta, false);
+			if (stopped) {
+				return score;
+			}
+			if (score <= alpha) {
+				beta = (alpha + beta) / 2;
+				alpha = Math.max(score - window, -INFINITY);
+			} else if (score >= beta) {
+				beta = Math.min(score + window, INFINITY);
+			} else {
+				return score;
+			}
+			window *= 2;
+		}
+	}
+
+	private int negamax(int ply, int depth, int alpha, int beta, boolean allowNull) {
+		pvLength[ply] = ply;
+		if (checkLimits()) {
+			return 0;
+		}
+		long key = position.getKey();
+		keys[gameHistoryLength + ply] = key;
+		boolean pvNode = beta - alpha > 1;
+
+		if (ply > 0) {
+			if (isDraw(position, ply)) {
+				return 0;
+			}
+			if (tablebases != null && Long.bitCount(position.getOccupancy()) <= Tablebases.MAX_PIECES) {
+				int result = tablebases.probe(position);
+				if (result != Tablebases.NOT_FOUND) {
+					return tablebaseScore(result, ply);
+				}
+			}
+			// Mate distance pruning: no score here can beat a shorter mate found
+			alpha = Math.max(alpha, -MATE + ply);
+			beta = Math.min(beta, MATE - ply - 1);
+			if (alpha >= beta) {
+				return alpha;
+			}
+		}
+
+		boolean inCheck = position.isInCheck();
+		if (inCheck) {
+			depth++; // check extension
+		}
+		if (depth <= 0) {
+			return quiescence(ply, alpha, beta);
+		}
+		if (ply >= MAX_PLY - 1) {
+			return Evaluation.evaluate(position);
+		}
+		nodes++;
+
+		// Transposition table cutoff
+		long entry = table.probe(key);
+		int tableMove = Move.NONE;
+		if (entry != TranspositionTable.MISS) {
+			tableMove = TranspositionTable.move(entry);
+			if (!pvNode && TranspositionTable.depth(entry) >= depth) {
+				int tableScore = scoreFromTable(TranspositionTable.score(entry), ply);
+				int bound = TranspositionTable.bound(entry);
+				if (bound == TranspositionTable.BOUND_EXACT
+						|| (bound == TranspositionTable.BOUND_LOWER && tableScore >= beta)
+						|| (bound == TranspositionTable.BOUND_UPPER && tableScore <= alpha)) {
+					return tableScore;
+				}
+			}
+		}
+
+		// Null move pruning: if passing still fails high, a real move will too
+		int us = position.getSideToMove();
+		if (allowNull && !pvNode && !inCheck && depth >= 3 && position.hasNonPawnMaterial(us)
+				&& Evaluation.evaluate(position) >= beta) {
+			int reduction = 2 + depth / 4;
+			position.makeNullMove();
+			int score = -negamax(ply + 1, depth - 1 - reduction, -beta, -beta + 1, false);
+			position.unmakeNullMove();
+			if (stopped) {
+				return 0;
+			}
+			if (score >= beta) {
+				return score >= MATE_BOUND ? beta : score;
+			}
+		}
+
+		int[] moves = moveBuffers[ply];
+		int[] scores = scoreBuffers[ply];
+		int moveCount = MoveGenerator.generatePseudoLegal(position, moves);
+		scoreMoves(position, moves, scores, moveCount, tableMove, ply);
+
+		int originalAlpha = alpha;
+		int bestScore = -INFINITY;
+		int bestMove = Move.NONE;
+		int legalMoves = 0;
+		for (int index = 0; index < moveCount; index++) {
+			int move = pickNextMove(moves, scores, index, moveCount);
+			if (!MoveGenerator.isLegal(position, move)) {
+				continue;
+			}
+			legalMoves++;
+			boolean quiet = !Move.isCapture(move) && !Move.isPromotion(move);
+			position.makeMove(move);
+
+			int score;
+			if (legalMoves == 1) {
+				score = -negamax(ply + 1, depth - 1, -beta, -alpha, true);
+			} else {
+				// Late move reductions for quiet moves ordered near the end
+				int reduction = 0;
+				if (depth >= 3 && legalMoves > 3 && quiet && !inCheck && move != killers[ply][0]
+						&& move != killers[ply][1] && !position.isInCheck()) {
+					reduction = REDUCTIONS[Math.min(depth, 63)][Math.min(legalMoves, 63)];
+					if (pvNode) {
+						reduction--;
+					}
+					reduction = Math.max(0, Math.min(reduction, depth - 2));
+				}
+				score = -negamax(ply + 1, depth - 1 - reduction, -alpha - 1, -alpha, true);
+				if (score > alpha && reduction > 0) {
+					score = -negamax(ply + 1, depth - 1, -alpha - 1, -alpha, true);
+				}
+				if (score > alpha && score < beta) {
+					score = -negamax(ply + 1, depth - 1, -beta, -alpha, true);
+				}
+			}
+			position.unmakeMove(move);
+			if (stopped) {
+				return 0;
+			}
+
+			if (score > bestScore) {
+				bestScore = score;
+				bestMove = move;
+				if (score > alpha) {
+					alpha = score;
+					updatePrincipalVariation(ply, move);
+					if (score >= beta) {
+						if (quiet) {
+							recordQuietCutoff(us, ply, move, depth);
+						}
+						break;
+					}
+				}
+			}
+		}
+
+		if (legalMoves == 0) {
+			return inCheck ? -MATE + ply : 0;
+		}
+
+		int bound = bestScore >= beta ? TranspositionTable.BOUND_LOWER
+				: bestScore > originalAlpha ? TranspositionTable.BOUND_EXACT : TranspositionTable.BOUND_UPPER;
+		table.store(key, bestMove, scoreToTable(bestScore, ply), depth, bound);
+		return bestScore;
+	}
+
+	/**
+	 * Searches only captures and promotions until the position is quiet, so the
+	 * static evaluation is never taken in the middle of an exchange.
+	 */
+	private int quiescence(int ply, int alpha, int beta) {
+		pvLength[ply] = ply;
+		if (checkLimits()) {
+			return 0;
+		}
+		nodes++;
+		int standPat = Evaluation.evaluate(position);
+		if (ply >= MAX_PLY - 1 || standPat >= beta) {
+			return standPat;
+		}
+		if (standPat > alpha) {
+			alpha = standPat;
+		}
+
+		int[] moves = moveBuffers[ply];
+		int[] scores = scoreBuffers[ply];
+		int moveCount = MoveGenerator.generateCaptures(position, moves);
+		scoreMoves(position, moves, scores, moveCount, Move.NONE, ply);
+
+		int bestScore = standPat;
+		for (int index = 0; index < moveCount; index++) {
+			int move = pickNextMove(moves, scores, index, moveCount);
+			// Delta pruning: even winning the piece cannot raise alpha
+			if (!Move.isPromotion(move) && standPat + capturedValue(position, move) + 200 <= alpha) {
+				continue;
+			}
+			if (!MoveGenerator.isLegal(position, move)) {
+				continue;
+			}
+			position.makeMove(move);
+			int score = -quiescence(ply + 1, -beta, -alpha);
+			position.unmakeMove(move);
+			if (stopped) {
+				return 0;
+			}
+			if (score > bestScore) {
+				bestScore = score;
+				if (score > alpha) {
+					alpha = score;
+					if (score >= beta) {
+						break;
+					}
+				}
+			}
+		}
+		return bestScore;
+	}
+
+	// ====== MOVE ORDERING ======
+
+	private void scoreMoves(Position position, int[] moves, int[] scores, int count, int tableMove, int ply) {
+		int us = position.getSideToMove();
+		for (int index = 0; index < count; index++) {
+			int move = moves[index];
+			if (move == tableMove) {
+				scores[index] = TT_MOVE_SCORE;
+			} else if (Move.isCapture(move)) {
+				// Most valuable victim first, least valuable attacker breaks ties
+				int victim = Move.isEnPassant(move) ? Position.PAWN : position.getPieceType(Move.to(move));
+				int attacker = position.getPieceType(Move.from(move));
+				scores[index] = CAPTURE_SCORE + victim * 10 + (Position.KING - attacker)
+						+ (Move.isPromotion(move) ? Move.promotionType(move) * 100 : 0);
+			} else if (Move.isPromotion(move)) {
+				scores[index] = PROMOTION_SCORE + Move.promotionType(move);
+			} else if (move == killers[ply][0]) {
+				scores[index] = FIRST_KILLER_SCORE;
+			} else if (move == killers[ply][1]) {
+				scores[index] = SECOND_KILLER_SCORE;
+			} else {
+				scores[index] = history[us][Move.from(move) * 64 + Move.to(move)];
+			}
+		}
+	}
+
+	/**
+	 * Swaps the best scored remaining move into place (one step of a selection
+	 * sort) and returns it, so a cutoff early in the list skips sorting the rest.
+	 */
+	private static int pickNextMove(int[] moves, int[] scores, int index, int count) {
+		int best = index;
+		for (int other = index + 1; other < count; other++) {
+			if (scores[other] > scores[best]) {
+				best = other;
+			}
+		}
+		int move = moves[best];
+		moves[best] = moves[index];
+		moves[index] = move;
+		int score = scores[best];
+		scores[best] = scores[index];
+		scores[index] = score;
+		return move;
+	}
+
+	private void recordQuietCutoff(int us, int ply, int move, int depth) {
+		if (killers[ply][0] != move) {
+			killers[ply][1] = killers[ply][0];
+			killers[ply][0] = move;
+		}
+		int index = Move.from(move) * 64 + Move.to(move);
+		history[us][index] += depth * depth;
+		if (history[us][index] > HISTORY_LIMIT) {
+			// Halve every entry so old cutoffs fade and scores stay below killers
+			for (int entry = 0; entry < 64 * 64; entry++) {
+				history[us][entry] /= 2;
+			}
+		}
+	}
+
+	private static int capturedValue(Position position, int move) {
+		if (Move.isEnPassant(move)) {
+			return Evaluation.PIECE_VALUES[Position.PAWN];
+		}
+		return Evaluation.PIECE_VALUES[position.getPieceType(Move.to(move))];
+	}
+
+	private void updatePrincipalVariation(int ply, int move) {
+		pvTable[ply][ply] = move;
+		for (int next = ply + 1; next < pvLength[ply + 1]; next++) {
+			pvTable[ply][next] = pvTable[ply + 1][next];
+		}
+		pvLength[ply] = Math.max(pvLength[ply + 1], ply + 1);
+	}
+
+	// ====== DRAWS, MATE SCORES AND LIMITS ======
+
+	/**
+	 * @return true for the fifty-move rule or a repetition of a position since
+	 *         the last capture or pawn move
+	 */
+	private boolean isDraw(Position position, int ply) {
+		int halfmoves = position.getHalfmoveClock();
+		if (halfmoves >= 100) {
+			return true;
+		}
+		int current = gameHistoryLength + ply;
+		int oldest = Math.max(0, current - halfmoves);
+		long key = keys[current];
+		for (int index = current - 2; index >= oldest; index -= 2) {
+			if (keys[index] == key) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return the search score of a tablebase result at this ply: a mate score
+	 *         for a win or loss, 0 for a draw
+	 */
+	private static int tablebaseScore(int result, int ply) {
+		if (Tablebases.isWin(result)) {
+			return MATE - ply - Tablebases.plies(result);
+		}
+		if (Tablebases.isLoss(result)) {
+			return -MATE + ply + Tablebases.plies(result);
+		}
+		return 0;
+	}
+
+	/** Stores mate scores relative to the entry's node instead of the root. */
+	private static int scoreToTable(int score, int ply) {
+		if (score >= MATE_BOUND) {
+			return score + ply;
+		}
+		if (score <= -MATE_BOUND) {
+			return score - ply;
+		}
+		return score;
+	}
+
+	private static int scoreFromTable(int score, int ply) {
+		if (score >= MATE_BOUND) {
+			return score - ply;
+		}
+		if (score <= -MATE_BOUND) {
+			return score + ply;
+		}
+		return score;
+	}
+
+	/**
+	 * Works out the soft deadline (do not start another iteration after half of
+	 * it) and the hard deadline (abort the search) from the limits.
+	 */
+	private void startClock(SearchLimits limits, int sideToMove) {
+		startTime = System.nanoTime();
+		nodeLimit = limits.getNodes();
+		long softMillis = Long.MAX_VALUE / 2000000;
+		long hardMillis = Long.MAX_VALUE / 2000000;
+		if (limits.isInfinite()) {
+			// Only stop() ends the search
+		} else if (limits.getMoveTime() > 0) {
+			softMillis = limits.getMoveTime() * 2;
+			hardMillis = limits.getMoveTime();
+		} else if (limits.hasClock()) {
+			long timeLeft = sideToMove == Position.WHITE ? limits.getWhiteTime() : limits.getBlackTime();
+			long increment = sideToMove == Position.WHITE ? limits.getWhiteIncrement() : limits.getBlackIncrement();
+			int movesToGo = limits.getMovesToGo() > 0 ? Math.min(limits.getMovesToGo(), 40) : 30;
+			long available = Math.max(1, timeLeft - MOVE_OVERHEAD);
+			softMillis = Math.min(available, available / movesToGo + increment * 3 / 4);
+			hardMillis = Math.min(available, softMillis * 4);
+			hardMillis = Math.min(hardMillis, available / 3 + increment);
+			softMillis = Math.max(1, Math.min(softMillis, hardMillis));
+			hardMillis = Math.max(1, hardMillis);
+		}
+		softDeadline = softMillis * 1000000;
+		hardDeadline = hardMillis * 1000000;
+	}
+
+	/**
+	 * Checks the node budget on every node and the clock every
+	 * LIMIT_CHECK_INTERVAL nodes. Depth 1 always finishes so there is a move to
+	 * play.
+	 *
+	 * @return true if the search has been stopped
+	 */
+	private boolean checkLimits() {
+		if (!stopped && completedDepth > 0) {
+			if (nodeLimit > 0 && nodes >= nodeLimit) {
+				stopped = true;
+			} else if ((nodes & (LIMIT_CHECK_INTERVAL - 1)) == 0 && System.nanoTime() - startTime >= hardDeadline) {
+				stopped = true;
+			}
+		}
+		return stopped;
+	}
+
+	// ====== RESULTS ======
+
+	/**
+	 * @return the best move of the last completed iteration
+	 */
+	public int getBestMove() {
+		return bestMove;
+	}
+
+	/**
+	 * @return the score of the last completed iteration in centipawns from the
+	 *         root side's point of view
+	 */
+	public int getBestScore() {
+		return bestScore;
+	}
+
+	public int getCompletedDepth() {
+		return completedDepth;
+	}
+
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * @return milliseconds since the current or last search started
+	 */
+	public long getElapsedMillis() {
+		return (System.nanoTime() - startTime) / 1000000;
+	}
+
+	/**
+	 * Copies the principal variation of the last completed iteration.
+	 *
+	 * @param buffer receives the moves; at least MAX_PLY long
+	 * @return the number of moves copied
+	 */
+	public int getPrincipalVariation(int[] buffer) {
+		System.arraycopy(principalVariation, 0, buffer, 0, principalVariationLength);
+		return principalVariationLength;
+	}
+
+	/**
+	 * @return true if the score is a forced mate for either side
+	 */
+	public static boolean isMateScore(int score) {
+		return Math.abs(score) >= MATE_BOUND;
+	}
+
+	// ====== COMMAND LINE ======
+
+	/**
+	 * Searches one position to a fixed depth and prints the result with nodes
+	 * per second and time to depth.
+	 *
+	 * Usage: java engine.Search [depth] [fen]
+	 */
+	public static void main(String[] args) {
+		int depth = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+		StringBuilder fen = new StringBuilder();
+		for (int index = 1; index < args.length; index++) {
+			fen.append(args[index]).append(' ');
+		}
+		Position root = Fen.parse(fen.length() > 0 ? fen.toString() : Fen.START_POSITION);
+		Search search = new Search(new TranspositionTable(64));
+		int bestMove = search.search(root, SearchLimits.depth(depth));
+		long elapsed = Math.max(1, search.getElapsedMillis());
+		int[] pv = new int[MAX_PLY];
+		int pvLength = search.getPrincipalVariation(pv);
+		StringBuilder line = new StringBuilder();
+		for (int index = 0; index < pvLength; index++) {
+			line.append(Move.toUci(pv[index])).append(' ');
+		}
+		System.out.println("depth " + search.getCompletedDepth() + " score " + search.getBestScore() + " nodes "
+				+ search.getNodes() + " time " + elapsed + " ms nps " + search.getNodes() * 1000 / elapsed);
+		System.out.println("pv " + line.toString().trim());
+		System.out.println("bestmove " + Move.toUci(bestMove));
+	}
+}
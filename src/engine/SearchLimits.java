@@ -0,0 +1,133 @@
+package engine;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * How long a search may run: a fixed depth, a fixed time per move, the
+ * players' clocks, a node budget, or no limit at all until it is stopped. A
+ * value of 0 means "not set". Times are in milliseconds.
+ */
+public class SearchLimits {
+
+	// A SearchLimits has-a depth, moveTime and nodes limit
+	private int depth;
+	private long moveTime;
+	private long nodes;
+	// A SearchLimits has-a clock for each side (time left and increment)
+	private long whiteTime;
+	private long blackTime;
+	private long whiteIncrement;
+	private long blackIncrement;
+	// A SearchLimits has-a movesToGo (moves until the next time control)
+	private int movesToGo;
+	// A SearchLimits has-a infinite flag (search until stopped)
+	private boolean infinite;
+
+	/**
+	 * @return limits that stop after the given depth
+	 */
+	public static SearchLimits depth(int depth) {
+		SearchLimits limits = new SearchLimits();
+		limits.setDepth(depth);
+		return limits;
+	}
+
+	/**
+	 * @return limits that stop after the given number of milliseconds
+	 */
+	public static SearchLimits moveTime(long moveTime) {
+		SearchLimits limits = new SearchLimits();
+		limits.setMoveTime(moveTime);
+		return limits;
+	}
+
+	/**
+	 * @return true if the search should use the clock of the side to move
+	 */
+	public boolean hasClock() {
+		return whiteTime > 0 || blackTime > 0;
+	}
+
+	// ====== GETTER AND SETTER METHODS ======
+
+	public int getDepth() {
+		return depth;
+	}
+
+	public void setDepth(int depth) {
+		this.depth = depth;
+	}
+
+	public long getMoveTime() {
+		return moveTime;
+	}
+
+	public void setMoveTime(long moveTime) {
+		this.moveTime = moveTime;
+	}
+
+	public long getNodes() {
+		return nodes;
+	}
+
+	public void setNodes(long nodes) {
+		this.nodes = nodes;
+	}
+
+	public long getWhiteTime() {
+		return whiteTime;
+	}
+
+	public void setWhiteTime(long whiteTime) {
+		this.whiteTime = whiteTime;
+	}
+
+	public long getBlackTime() {
+		return blackTime;
+	}
+
+	public void setBlackTime(long blackTime) {
+		this.blackTime = blackTime;
+	}
+
+	public long getWhiteIncrement() {
+		return whiteIncrement;
+	}
+
+	public void setWhiteIncrement(long whiteIncrement) {
+		this.whiteIncrement = whiteIncrement;
+	}
+
+	public long getBlackIncrement() {
+		return blackIncrement;
+	}
+
+	public void setBlackIncrement(long blackIncrement) {
+		this.blackIncrement = blackIncrement;
+	}
+
+	public int getMovesToGo() {
+		return movesToGo;
+	}
+
+	public void setMovesToGo(int movesToGo) {
+		this.movesToGo = movesToGo;
+	}
+
+	public boolean isInfinite() {
+		return infinite;
+	}
+
+	public void setInfinite(boolean infinite) {
+		this.infinite = infinite;
+	}
+}
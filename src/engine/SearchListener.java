@@ -0,0 +1,31 @@
+package engine;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Receives the progress of a running search, e.g. to print UCI info lines.
+ * Called on the search thread after every completed iteration, so it should
+ * return quickly.
+ */
+public interface SearchListener {
+
+	/**
+	 * @param depth         the iteration just completed
+	 * @param score         its score in centipawns from the root side's point of
+	 *                      view
+	 * @param nodes         nodes searched so far
+	 * @param elapsedMillis milliseconds since the search started
+	 * @param pv            the principal variation; only valid during the call
+	 * @param pvLength      the number of moves in pv
+	 */
+	void iterationCompleted(int depth, int score, long nodes, long elapsedMillis, int[] pv, int pvLength);
+}
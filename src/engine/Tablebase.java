@@ -0,0 +1,339 @@
+package engine;
+
+import java.nio.ByteBuffer;
+
+import piece.Position;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * One endgame table: a material signature such as "KQKR" (white's pieces,
+ * then black's) and the index of every position with that material.
+ *
+ * An index packs the side to move, the white king, the black king and the
+ * other pieces' squares. Positions that are mirror images of each other share
+ * one index: without pawns the board has 8 symmetries and the white king is
+ * always brought into the a1-d1-d4 triangle (10 squares); with pawns only the
+ * left-right mirror is used and the white king is kept on files a-d (32
+ * squares). Two identical pieces are stored in square order. Of several
+ * equivalent indexes the smallest is the canonical one, so every position
+ * has exactly one.
+ *
+ * A value is one byte for the side to move: 0 for a draw, v &gt; 0 for a win
+ * in v plies, v &lt; 0 for a loss in -v - 1 plies.
+ */
+final class Tablebase {
+
+	// Square maps of the 8 board symmetries (bit 0 mirrors files, bit 1 mirrors
+	// ranks, bit 2 mirrors along the a1-h8 diagonal first)
+	private static final int[][] TRANSFORMS = new int[8][64];
+	// King index of each square (or -1) and square of each king index, for
+	// tables without and with pawns
+	private static final int[] TRIANGLE_INDEX = new int[64];
+	private static final int[] TRIANGLE_SQUARES = new int[10];
+	private static final int[] HALF_INDEX = new int[64];
+	private static final int[] HALF_SQUARES = new int[32];
+
+	static {
+		for (int transform = 0; transform < 8; transform++) {
+			for (int square = 0; square < 64; square++) {
+				int col = Position.colOf(square);
+				int row = Position.rowOf(square);
+				if ((transform & 4) != 0) {
+					int diagonalCol = 7 - row;
+					row = 7 - col;
+					col = diagonalCol;
+				}
+				if ((transform & 1) != 0) {
+					col = 7 - col;
+				}
+				if ((transform & 2) != 0) {
+					row = 7 - row;
+				}
+				TRANSFORMS[transform][square] = Position.square(col, row);
+			}
+		}
+		int triangleCount = 0;
+		int halfCount = 0;
+		for (int square = 0; square < 64; square++) {
+			int col = Position.colOf(square);
+			int rank = 7 - Position.rowOf(square);
+			TRIANGLE_INDEX[square] = -1;
+			HALF_INDEX[square] = -1;
+			if (col <= 3 && rank <= col) {
+				TRIANGLE_SQUARES[triangleCount] = square;
+				TRIANGLE_INDEX[square] = triangleCount++;
+			}
+			if (col <= 3) {
+				HALF_SQUARES[halfCount] = square;
+				HALF_INDEX[square] = halfCount++;
+			}
+		}
+	}
+
+	// A Tablebase has-a name and codes (piece code of every slot: white king,
+	// black king, then the other pieces in name order)
+	private final String name;
+	private final int[] codes;
+	// A Tablebase has-a pawns flag, sameKind flag (the two extra pieces are
+	// identical) and the material keys of its own and of the color flipped
+	// material
+	private final boolean pawns;
+	private final boolean sameKind;
+	private final long materialKey;
+	private final long flippedMaterialKey;
+	// A Tablebase has-a kingIndex/kingSquares (the white king's index space)
+	// and size (number of indexes)
+	private final int[] kingIndex;
+	private final int[] kingSquares;
+	private final int transformCount;
+	private final int size;
+	// A Tablebase has-a values (mapped file contents, or null while generating)
+	private ByteBuffer values;
+
+	/**
+	 * @param name material such as "KQK" or "KRKN": a K, white's pieces, a K
+	 *             and black's pieces, at most 4 pieces in all
+	 */
+	Tablebase(String name) {
+		int blackKing = name.indexOf('K', 1);
+		if (!name.startsWith("K") || blackKing < 0 || name.length() > Tablebases.MAX_PIECES
+				|| name.length() < 3) {
+			throw new IllegalArgumentException("Not a tablebase name: " + name);
+		}
+		this.name = name;
+		codes = new int[name.length()];
+		codes[0] = Position.pieceCode(Position.WHITE, Position.KING);
+		codes[1] = Position.pieceCode(Position.BLACK, Position.KING);
+		int slot = 2;
+		for (int index = 1; index < name.length(); index++) {
+			if (index == blackKing) {
+				continue;
+			}
+			int type = "PNBRQ".indexOf(name.charAt(index));
+			if (type < 0) {
+				throw new IllegalArgumentException("Not a tablebase name: " + name);
+			}
+			codes[slot++] = Position.pieceCode(index < blackKing ? Position.WHITE : Position.BLACK, type);
+		}
+		boolean anyPawn = false;
+		long key = 0;
+		long flippedKey = 0;
+		for (int code : codes) {
+			anyPawn |= Position.typeOf(code) == Position.PAWN;
+			key += 1L << (4 * code);
+			flippedKey += 1L << (4 * flip(code));
+		}
+		pawns = anyPawn;
+		sameKind = codes.length == 4 && codes[2] == codes[3];
+		materialKey = key;
+		flippedMaterialKey = flippedKey;
+		kingIndex = pawns ? HALF_INDEX : TRIANGLE_INDEX;
+		kingSquares = pawns ? HALF_SQUARES : TRIANGLE_SQUARES;
+		transformCount = pawns ? 2 : 8;
+		size = 2 * kingSquares.length * (1 << (6 * (codes.length - 1)));
+	}
+
+	String getName() {
+		return name;
+	}
+
+	int getPieceCount() {
+		return codes.length;
+	}
+
+	int getPawnCount() {
+		int count = 0;
+		for (int code : codes) {
+			if (Position.typeOf(code) == Position.PAWN) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	int getSize() {
+		return size;
+	}
+
+	long getMaterialKey() {
+		return materialKey;
+	}
+
+	long getFlippedMaterialKey() {
+		return flippedMaterialKey;
+	}
+
+	void setValues(ByteBuffer values) {
+		this.values = values;
+	}
+
+	/**
+	 * @return the stored value of an index of a table that has been loaded
+	 */
+	int getValue(int index) {
+		return values.get(index);
+	}
+
+	/**
+	 * @return the material key of a position: 4 bits of piece count per piece
+	 *         code
+	 */
+	static long materialKey(Position position) {
+		long key = 0;
+		for (int code = 0; code < 12; code++) {
+			long pieces = position.getPieces(Position.colorOf(code), Position.typeOf(code));
+			key += (long) Long.bitCount(pieces) << (4 * code);
+		}
+		return key;
+	}
+
+	// ====== INDEXING ======
+
+	/**
+	 * @param flipped true if the position's colors are swapped relative to the
+	 *                table (white's pieces are the table's black pieces), in
+	 *                which case the board is mirrored top to bottom as well
+	 * @return the canonical index of a position with this table's material
+	 */
+	int index(Position position, boolean flipped) {
+		int flip = flipped ? 1 : 0;
+		int squareFlip = flipped ? 56 : 0;
+		int sideToMove = position.getSideToMove() ^ flip;
+		int whiteKing = position.getKingSquare(Position.WHITE ^ flip) ^ squareFlip;
+		int blackKing = position.getKingSquare(Position.BLACK ^ flip) ^ squareFlip;
+		int third = 0;
+		int fourth = 0;
+		if (codes.length > 2) {
+			int code = flipped ? flip(codes[2]) : codes[2];
+			long pieces = position.getPieces(Position.colorOf(code), Position.typeOf(code));
+			third = Long.numberOfTrailingZeros(pieces) ^ squareFlip;
+			if (sameKind) {
+				fourth = Long.numberOfTrailingZeros(pieces & (pieces - 1)) ^ squareFlip;
+			} else if (codes.length > 3) {
+				code = flipped ? flip(codes[3]) : codes[3];
+				fourth = Long.numberOfTrailingZeros(position.getPieces(Position.colorOf(code), Position.typeOf(code)))
+						^ squareFlip;
+			}
+		}
+		return canonicalIndex(sideToMove, whiteKing, blackKing, third, fourth);
+	}
+
+	private int canonicalIndex(int sideToMove, int whiteKing, int blackKing, int third, int fourth) {
+		int best = Integer.MAX_VALUE;
+		for (int transform = 0; transform < transformCount; transform++) {
+			int[] map = TRANSFORMS[transform];
+			int king = kingIndex[map[whiteKing]];
+			if (king < 0) {
+				continue;
+			}
+			int index = (sideToMove * kingSquares.length + king) * 64 + map[blackKing];
+			if (codes.length > 2) {
+				int first = map[third];
+				int second = map[fourth];
+				if (sameKind && first > second) {
+					int swap = first;
+					first = second;
+					second = swap;
+				}
+				index = index * 64 + first;
+				if (codes.length > 3) {
+					index = index * 64 + second;
+				}
+			}
+			best = Math.min(best, index);
+		}
+		return best;
+	}
+
+	/**
+	 * Sets up the position of an index.
+	 *
+	 * @return false if the index is not the canonical index of a legal
+	 *         position (pieces on one square, a pawn on the first or last rank,
+	 *         the side not to move in check)
+	 */
+	boolean decode(int index, Position position) {
+		int[] squares = new int[codes.length];
+		int rest = index;
+		for (int slot = codes.length - 1; slot >= 1; slot--) {
+			squares[slot] = rest & 63;
+			rest >>>= 6;
+		}
+		squares[0] = kingSquares[rest % kingSquares.length];
+		int sideToMove = rest / kingSquares.length;
+
+		position.clear();
+		for (int slot = 0; slot < codes.length; slot++) {
+			int square = squares[slot];
+			int row = Position.rowOf(square);
+			if (position.isOccupied(square)
+					|| (Position.typeOf(codes[slot]) == Position.PAWN && (row == 0 || row == 7))) {
+				return false;
+			}
+			position.setPiece(square, Position.colorOf(codes[slot]), Position.typeOf(codes[slot]));
+		}
+		position.setSideToMove(sideToMove);
+		int opponent = sideToMove ^ 1;
+		return !position.isSquareAttacked(position.getKingSquare(opponent), sideToMove)
+				&& index(position, false) == index;
+	}
+
+	private static int flip(int code) {
+		return Position.pieceCode(Position.colorOf(code) ^ 1, Position.typeOf(code));
+	}
+
+	// ====== VALUES ======
+
+	/**
+	 * @return the value of a win in the given number of plies
+	 */
+	static int win(int plies) {
+		return plies;
+	}
+
+	/**
+	 * @return the value of a loss in the given number of plies
+	 */
+	static int loss(int plies) {
+		return -plies - 1;
+	}
+
+	/**
+	 * @return the value for the player who moved into a position with the given
+	 *         value
+	 */
+	static int fromParent(int childValue) {
+		if (childValue > 0) {
+			return loss(childValue + 1);
+		}
+		if (childValue < 0) {
+			return win(-childValue);
+		}
+		return 0;
+	}
+
+	/**
+	 * @return a number that is larger the better the value is for the side to
+	 *         move: faster wins, then slower wins, draws, slower losses and
+	 *         faster losses
+	 */
+	static int rank(int value) {
+		if (value > 0) {
+			return 1000 - value;
+		}
+		if (value < 0) {
+			return -1000 - value - 1;
+		}
+		return 0;
+	}
+}
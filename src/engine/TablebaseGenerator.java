@@ -0,0 +1,350 @@
+package engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import piece.Attacks;
+import piece.MoveGenerator;
+import piece.Position;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Generates Tablebases files by retrograde analysis.
+ *
+ * For one table, every legal position is first played forward with
+ * MoveGenerator (the same move rules the pieces use on the board): mates and
+ * stalemates are scored, moves that capture or promote are looked up in the
+ * smaller tables generated before, and the moves that stay in the table are
+ * counted. Then, ply by ply, the positions resolved at that distance are
+ * played backwards: a position one move before a loss is a win, and a
+ * position whose every move leads to a win for the opponent is a loss. What
+ * is never resolved is a draw.
+ *
+ * Tables are generated in waves (3 pieces, then 4; fewer pawns first) so the
+ * tables a capture or a promotion leads to always exist. The tables of one
+ * wave do not depend on each other and are generated in parallel.
+ *
+ * KPKP is not generated: after a double pawn push it has en passant
+ * positions, which the tables do not store.
+ *
+ * Usage: java engine.TablebaseGenerator [-threads n] directory [name...]
+ */
+public class TablebaseGenerator {
+
+	// Longest distance to mate a value byte can hold
+	private static final int MAX_PLIES = 126;
+	// Pieces besides the kings, strongest first
+	private static final String PIECES = "QRBNP";
+
+	// A TablebaseGenerator has-a directory (where tables are written) and
+	// tablebases (the tables written so far, probed for captures and promotions)
+	private final Path directory;
+	private final Tablebases tablebases;
+
+	public TablebaseGenerator(Path directory, Tablebases tablebases) {
+		this.directory = directory;
+		this.tablebases = tablebases;
+	}
+
+	/**
+	 * @return the names of every 3 and 4 piece table
+	 */
+	public static List<String> allNames() {
+		List<String> names = new ArrayList<>();
+		for (int first = 0; first < PIECES.length(); first++) {
+			names.add("K" + PIECES.charAt(first) + "K");
+		}
+		for (int first = 0; first < PIECES.length(); first++) {
+			for (int second = first; second < PIECES.length(); second++) {
+				names.add("K" + PIECES.charAt(first) + PIECES.charAt(second) + "K");
+				if (first != PIECES.indexOf('P') || second != first) {
+					names.add("K" + PIECES.charAt(first) + "K" + PIECES.charAt(second));
+				}
+			}
+		}
+		return names;
+	}
+
+	/**
+	 * Generates the tables that are not in the directory yet, wave by wave.
+	 */
+	public void generate(List<String> names, int threads) throws IOException, InterruptedException {
+		List<Tablebase> pending = new ArrayList<>();
+		for (String name : names) {
+			Tablebase table = new Tablebase(name);
+			if (!Files.exists(directory.resolve(name + Tablebases.EXTENSION))) {
+				pending.add(table);
+			}
+		}
+		pending.sort(Comparator.comparingInt(Tablebase::getPieceCount).thenComparingInt(Tablebase::getPawnCount));
+
+		ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, threads));
+		try {
+			int start = 0;
+			while (start < pending.size()) {
+				int end = start;
+				while (end < pending.size() && isSameWave(pending.get(start), pending.get(end))) {
+					end++;
+				}
+				List<Future<Path>> futures = new ArrayList<>();
+				for (Tablebase table : pending.subList(start, end)) {
+					futures.add(pool.submit(() -> generate(table)));
+				}
+				for (Future<Path> future : futures) {
+					tablebases.load(future.get());
+				}
+				start = end;
+			}
+		} catch (ExecutionException e) {
+			throw new IOException("generation failed", e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private static boolean isSameWave(Tablebase first, Tablebase second) {
+		return first.getPieceCount() == second.getPieceCount() && first.getPawnCount() == second.getPawnCount();
+	}
+
+	// ====== ONE TABLE ======
+
+	/**
+	 * Generates one table and writes its file.
+	 *
+	 * @return the file written
+	 */
+	Path generate(Tablebase table) throws IOException {
+		long start = System.nanoTime();
+		int size = table.getSize();
+		// values: resolved value (0 while unresolved or a draw); counters: moves
+		// staying in the table whose result is not known yet; bestOut: best value
+		// reached by leaving the table (Tablebase.loss(0) when no move leaves)
+		byte[] values = new byte[size];
+		byte[] counters = new byte[size];
+		byte[] bestOut = new byte[size];
+		Position position = new Position();
+		int[] moves = new int[MoveGenerator.MAX_MOVES];
+		int[] children = new int[MoveGenerator.MAX_MOVES];
+		int deepest = 0;
+
+		for (int index = 0; index < size; index++) {
+			if (!table.decode(index, position)) {
+				continue;
+			}
+			int moveCount = MoveGenerator.generateLegal(position, moves);
+			if (moveCount == 0) {
+				values[index] = (byte) (position.isInCheck() ? Tablebase.loss(0) : 0);
+				continue;
+			}
+			int childCount = 0;
+			int best = Tablebase.loss(0);
+			for (int move = 0; move < moveCount; move++) {
+				position.makeMove(moves[move]);
+				if (Tablebase.materialKey(position) == table.getMaterialKey()) {
+					childCount = addDistinct(children, childCount, table.index(position, false));
+				} else {
+					int child = tablebases.probe(position);
+					if (child == Tablebases.NOT_FOUND) {
+						throw new IllegalStateException("A table for " + Tablebase.materialKey(position)
+								+ " is needed before " + table.getName());
+					}
+					int value = Tablebase.fromParent(child);
+					if (Tablebase.rank(value) > Tablebase.rank(best)) {
+						best = value;
+					}
+				}
+				position.unmakeMove(moves[move]);
+			}
+			counters[index] = (byte) childCount;
+			bestOut[index] = (byte) best;
+			if (best > 0 || childCount == 0) {
+				// A win by leaving the table (an in-table win may still be
+				// shorter), or every move leaves it
+				values[index] = (byte) best;
+				deepest = Math.max(deepest, Tablebases.plies(best));
+			}
+		}
+
+		Position predecessor = new Position();
+		for (int plies = 0; plies <= deepest; plies++) {
+			if (plies >= MAX_PLIES) {
+				throw new IllegalStateException(table.getName() + " has mates longer than " + MAX_PLIES + " plies");
+			}
+			byte win = (byte) Tablebase.win(plies);
+			byte loss = (byte) Tablebase.loss(plies);
+			for (int index = 0; index < size; index++) {
+				byte value = values[index];
+				// There is no win in 0 plies, and 0 is also a draw
+				if (value != loss && (value != win || plies == 0)) {
+					continue;
+				}
+				table.decode(index, position);
+				int count = predecessors(table, position, predecessor, children);
+				for (int child = 0; child < count; child++) {
+					int parent = children[child];
+					int parentValue = values[parent];
+					if (value == loss) {
+						// A move into a loss wins, unless a shorter win is known
+						if (parentValue == 0 || parentValue > plies + 1) {
+							values[parent] = (byte) Tablebase.win(plies + 1);
+							deepest = Math.max(deepest, plies + 1);
+						}
+					} else if (parentValue == 0 && --counters[parent] == 0 && bestOut[parent] < 0) {
+						// Every move leads to a win for the opponent
+						int lossPlies = Math.max(plies + 1, Tablebases.plies(bestOut[parent]));
+						values[parent] = (byte) Tablebase.loss(lossPlies);
+						deepest = Math.max(deepest, lossPlies);
+					}
+				}
+			}
+		}
+
+		Path file = directory.resolve(table.getName() + Tablebases.EXTENSION);
+		write(file, table, values);
+		System.out.printf("%s: %d positions, longest mate %d plies, %.1f s%n", table.getName(), size, deepest,
+				(System.nanoTime() - start) / 1e9);
+		return file;
+	}
+
+	/**
+	 * Lists the distinct canonical indexes of the positions one move before
+	 * this one: every piece of the side that just moved goes back to an empty
+	 * square it could have come from. Captures and promotions are not undone,
+	 * as they come from other tables.
+	 *
+	 * @return the number of indexes written to parents
+	 */
+	private static int predecessors(Tablebase table, Position position, Position predecessor, int[] parents) {
+		int mover = position.getSideToMove() ^ 1;
+		long occupancy = position.getOccupancy();
+		int count = 0;
+		long pieces = position.getColorOccupancy(mover);
+		while (pieces != 0) {
+			int square = Long.numberOfTrailingZeros(pieces);
+			pieces &= pieces - 1;
+			int type = position.getPieceType(square);
+			long origins;
+			if (type == Position.PAWN) {
+				origins = pawnOrigins(mover, square, occupancy);
+			} else {
+				origins = Attacks.attacks(type, mover, square, occupancy) & ~occupancy;
+			}
+			while (origins != 0) {
+				int origin = Long.numberOfTrailingZeros(origins);
+				origins &= origins - 1;
+				predecessor.copyFrom(position);
+				predecessor.removePiece(square);
+				predecessor.setPiece(origin, mover, type);
+				predecessor.setSideToMove(mover);
+				// The side that did not move must not have been left in check
+				if (!predecessor.isSquareAttacked(predecessor.getKingSquare(mover ^ 1), mover)) {
+					count = addDistinct(parents, count, table.index(predecessor, false));
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * @return the squares a pawn on the square could have been pushed from
+	 */
+	private static long pawnOrigins(int color, int square, long occupancy) {
+		// White pawns move toward row 0, so they came from a higher row
+		int back = color == Position.WHITE ? 8 : -8;
+		int startRow = color == Position.WHITE ? 6 : 1;
+		int origin = square + back;
+		if (origin < 0 || origin >= 64 || (occupancy & Position.bit(origin)) != 0) {
+			return 0;
+		}
+		int originRow = Position.rowOf(origin);
+		if (originRow == 0 || originRow == 7) {
+			return 0;
+		}
+		long origins = Position.bit(origin);
+		int doubleOrigin = origin + back;
+		if (Position.rowOf(doubleOrigin) == startRow && (occupancy & Position.bit(doubleOrigin)) == 0) {
+			origins |= Position.bit(doubleOrigin);
+		}
+		return origins;
+	}
+
+	private static int addDistinct(int[] indexes, int count, int index) {
+		for (int existing = 0; existing < count; existing++) {
+			if (indexes[existing] == index) {
+				return count;
+			}
+		}
+		indexes[count] = index;
+		return count + 1;
+	}
+
+	private static void write(Path file, Tablebase table, byte[] values) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(Tablebases.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(Tablebases.MAGIC);
+		header.putShort(Tablebases.VERSION);
+		header.putShort((short) table.getPieceCount());
+		header.putLong(values.length);
+		header.flip();
+		// Written under a temporary name first, so a file that exists is complete
+		Path partial = file.resolveSibling(file.getFileName() + ".part");
+		try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			ByteBuffer body = ByteBuffer.wrap(values);
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+			while (body.hasRemaining()) {
+				channel.write(body);
+			}
+		}
+		Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int threads = Runtime.getRuntime().availableProcessors();
+		List<String> arguments = new ArrayList<>(Arrays.asList(args));
+		if (arguments.size() >= 2 && arguments.get(0).equals("-threads")) {
+			threads = Integer.parseInt(arguments.get(1));
+			arguments = arguments.subList(2, arguments.size());
+		}
+		if (arguments.isEmpty()) {
+			System.out.println("Usage: java engine.TablebaseGenerator [-threads n] directory [name...]");
+			return;
+		}
+		Path directory = Paths.get(arguments.get(0));
+		Files.createDirectories(directory);
+		List<String> names = arguments.size() > 1 ? arguments.subList(1, arguments.size()) : allNames();
+
+		long start = System.nanoTime();
+		try (Tablebases tablebases = Tablebases.open(directory)) {
+			new TablebaseGenerator(directory, tablebases).generate(names, threads);
+			System.out.printf("%d tables in %s, %.1f s%n", tablebases.getTableCount(), directory,
+					(System.nanoTime() - start) / 1e9);
+		}
+	}
+}
@@ -0,0 +1,208 @@
+package engine;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import piece.Position;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Endgame tablebases for positions of up to MAX_PIECES pieces (kings
+ * included), made by TablebaseGenerator. Every table file is memory-mapped,
+ * so a probe is an index computation and one byte read; nothing is loaded on
+ * the heap and any number of threads can probe at once.
+ *
+ * A probe gives the distance to mate in plies with best play, ignoring the
+ * fifty-move rule: probe returns 0 for a draw, v &gt; 0 when the side to move
+ * mates in v plies, v &lt; 0 when it is mated in -v - 1 plies, and NOT_FOUND
+ * when there is no table for the position (too many pieces, castling rights
+ * or an en passant square, or the table was not generated). A position with
+ * only the two kings is a draw.
+ *
+ * File layout (little-endian): magic "CHTB", version u16, piece count u16,
+ * value count u64, then one signed byte per index as described in Tablebase.
+ */
+public class Tablebases implements Closeable {
+
+	// Most pieces, kings included, of a tablebase position
+	public static final int MAX_PIECES = 4;
+	// Returned by probe when no table has the position
+	public static final int NOT_FOUND = Integer.MIN_VALUE;
+	// File name extension of a table
+	public static final String EXTENSION = ".tbl";
+
+	// File format constants
+	static final int MAGIC = 'C' | 'H' << 8 | 'T' << 16 | 'B' << 24;
+	static final short VERSION = 1;
+	static final int HEADER_SIZE = 16;
+
+	// Size of the material key hash (more than twice the number of tables)
+	private static final int SLOTS = 256;
+
+	// A Tablebases has-a keys, tables and flipped (open addressing map from
+	// material key to the table with that material, flipped when the table has
+	// the colors the other way round)
+	private final long[] keys = new long[SLOTS];
+	private final Tablebase[] tables = new Tablebase[SLOTS];
+	private final boolean[] flipped = new boolean[SLOTS];
+	// A Tablebases has-a channels (open table files) and tableCount
+	private final List<FileChannel> channels = new ArrayList<>();
+	private int tableCount;
+
+	/**
+	 * Creates an empty set of tables; tables are added with load.
+	 */
+	public Tablebases() {
+	}
+
+	/**
+	 * Maps every table file of a directory.
+	 */
+	public static Tablebases open(Path directory) throws IOException {
+		Tablebases tablebases = new Tablebases();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+			for (Path file : files) {
+				tablebases.load(file);
+			}
+		} catch (IOException | RuntimeException e) {
+			tablebases.close();
+			throw e;
+		}
+		return tablebases;
+	}
+
+	/**
+	 * Maps one table file; its name (e.g. KQKR.tbl) gives the material.
+	 */
+	public synchronized void load(Path file) throws IOException {
+		String fileName = file.getFileName().toString();
+		Tablebase table;
+		try {
+			table = new Tablebase(fileName.substring(0, fileName.length() - EXTENSION.length()));
+		} catch (IllegalArgumentException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+		channels.add(channel);
+		ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), HEADER_SIZE))
+				.order(ByteOrder.LITTLE_ENDIAN);
+		if (header.limit() < HEADER_SIZE || header.getInt(0) != MAGIC || header.getShort(4) != VERSION
+				|| header.getLong(8) != table.getSize() || channel.size() != HEADER_SIZE + table.getSize()) {
+			throw new IOException("Not a " + table.getName() + " table: " + file);
+		}
+		table.setValues(channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, table.getSize()));
+		add(table);
+	}
+
+	/**
+	 * Makes a table whose values are set available for probing.
+	 */
+	synchronized void add(Tablebase table) {
+		put(table.getMaterialKey(), table, false);
+		if (table.getFlippedMaterialKey() != table.getMaterialKey()) {
+			put(table.getFlippedMaterialKey(), table, true);
+		}
+		tableCount++;
+	}
+
+	private void put(long key, Tablebase table, boolean isFlipped) {
+		int slot = slot(key);
+		while (tables[slot] != null && keys[slot] != key) {
+			slot = (slot + 1) & (SLOTS - 1);
+		}
+		keys[slot] = key;
+		tables[slot] = table;
+		flipped[slot] = isFlipped;
+	}
+
+	private static int slot(long key) {
+		long hash = key * 0x9E3779B97F4A7C15L;
+		return (int) (hash >>> 56) & (SLOTS - 1);
+	}
+
+	public int getTableCount() {
+		return tableCount;
+	}
+
+	/**
+	 * @return the distance to mate of the position as described above, or
+	 *         NOT_FOUND
+	 */
+	public int probe(Position position) {
+		long occupancy = position.getOccupancy();
+		int pieceCount = Long.bitCount(occupancy);
+		if (pieceCount > MAX_PIECES || position.getCastlingRights() != 0
+				|| position.getEnPassantSquare() != Position.NO_SQUARE) {
+			return NOT_FOUND;
+		}
+		if (pieceCount == 2) {
+			return 0;
+		}
+		long key = Tablebase.materialKey(position);
+		int slot = slot(key);
+		while (tables[slot] != null) {
+			if (keys[slot] == key) {
+				Tablebase table = tables[slot];
+				return table.getValue(table.index(position, flipped[slot]));
+			}
+			slot = (slot + 1) & (SLOTS - 1);
+		}
+		return NOT_FOUND;
+	}
+
+	/**
+	 * @return true if a probe result says the side to move mates
+	 */
+	public static boolean isWin(int result) {
+		return result != NOT_FOUND && result > 0;
+	}
+
+	/**
+	 * @return true if a probe result says the side to move is mated
+	 */
+	public static boolean isLoss(int result) {
+		return result != NOT_FOUND && result < 0;
+	}
+
+	/**
+	 * @return the plies to mate of a win or loss probe result
+	 */
+	public static int plies(int result) {
+		return result > 0 ? result : -result - 1;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		IOException failure = null;
+		for (FileChannel channel : channels) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				failure = e;
+			}
+		}
+		channels.clear();
+		if (failure != null) {
+			throw failure;
+		}
+	}
+}
@@ -0,0 +1,204 @@
+package engine;
+
+import java.util.Arrays;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Fixed-size hash table of search results keyed by Position Zobrist keys,
+ * shared by every search thread without locks.
+ *
+ * The whole table is one long[]. Each entry is two longs: the key XORed with
+ * the data, then the data itself. A reader accepts an entry only if XORing the
+ * two words gives back its key, so an entry torn by two threads writing at the
+ * same time just looks like a miss instead of returning another position's
+ * data. Entries are grouped in clusters of four (64 bytes, one cache line);
+ * a store replaces the entry for the same key if there is one, otherwise the
+ * entry with the lowest depth after aging, so deep results from the current
+ * search survive and stale results from old searches are reused first.
+ *
+ * Data layout: bits 0-15 move, 16-31 score (signed), 32-39 depth, 40-41
+ * bound, 42-47 age, bit 48 set for every stored entry.
+ */
+public class TranspositionTable {
+
+	// Bound types
+	public static final int BOUND_NONE = 0;
+	public static final int BOUND_UPPER = 1;
+	public static final int BOUND_LOWER = 2;
+	public static final int BOUND_EXACT = 3;
+
+	// Value probe returns when the position is not in the table
+	public static final long MISS = 0L;
+
+	private static final int ENTRIES_PER_CLUSTER = 4;
+	private static final int LONGS_PER_CLUSTER = ENTRIES_PER_CLUSTER * 2;
+	private static final int BYTES_PER_CLUSTER = LONGS_PER_CLUSTER * 8;
+	private static final int AGE_MASK = 63;
+	private static final long OCCUPIED_BIT = 1L << 48;
+	// Largest power of two cluster count that fits in one long[] (8 GB)
+	private static final long MAX_CLUSTERS = 1L << 27;
+
+	// A TranspositionTable has-a table (key^data and data words of every entry)
+	private long[] table;
+	// A TranspositionTable has-a clusterMask (cluster count - 1, a power of two)
+	private int clusterMask;
+	// A TranspositionTable has-a age (generation of the current search); only
+	// changed between searches, before the search threads start
+	private int age;
+
+	/**
+	 * @param megabytes the size of the table; rounded down to a power of two
+	 *                  number of clusters
+	 */
+	public TranspositionTable(int megabytes) {
+		resize(megabytes);
+	}
+
+	/**
+	 * Reallocates the table with the given size, dropping every entry.
+	 */
+	public void resize(int megabytes) {
+		long clusters = Math.max(1L, ((long) Math.max(1, megabytes) << 20) / BYTES_PER_CLUSTER);
+		// Round down to a power of two and stay within the largest Java array
+		clusters = Math.min(Long.highestOneBit(clusters), MAX_CLUSTERS);
+		table = new long[(int) clusters * LONGS_PER_CLUSTER];
+		clusterMask = (int) clusters - 1;
+		age = 0;
+	}
+
+	/** Empties the table without reallocating it. */
+	public void clear() {
+		Arrays.fill(table, 0L);
+		age = 0;
+	}
+
+	/**
+	 * Starts a new search generation so entries from earlier searches are
+	 * preferred for replacement.
+	 */
+	public void newSearch() {
+		age = (age + 1) & AGE_MASK;
+	}
+
+	/**
+	 * @return the size of the table in megabytes
+	 */
+	public int getSizeMegabytes() {
+		return (int) (((long) table.length * 8) >> 20);
+	}
+
+	/**
+	 * Looks up a position.
+	 *
+	 * @return the packed entry data (read it with the static accessors), or MISS
+	 */
+	public long probe(long key) {
+		int base = clusterIndex(key);
+		for (int slot = base; slot < base + LONGS_PER_CLUSTER; slot += 2) {
+			long data = table[slot + 1];
+			if ((table[slot] ^ data) == key && data != MISS) {
+				return data;
+			}
+		}
+		return MISS;
+	}
+
+	/**
+	 * Stores a search result.
+	 *
+	 * @param key   the position's Zobrist key
+	 * @param move  the best move found, or Move.NONE
+	 * @param score the score, already adjusted for mate distance by the caller
+	 * @param depth the remaining depth the score was searched to (0-255)
+	 * @param bound BOUND_UPPER, BOUND_LOWER or BOUND_EXACT
+	 */
+	public void store(long key, int move, int score, int depth, int bound) {
+		int base = clusterIndex(key);
+		int victim = base;
+		int victimValue = Integer.MAX_VALUE;
+		for (int slot = base; slot < base + LONGS_PER_CLUSTER; slot += 2) {
+			long data = table[slot + 1];
+			if (data == MISS) {
+				if (victimValue > Integer.MIN_VALUE) {
+					victim = slot;
+					victimValue = Integer.MIN_VALUE;
+				}
+				continue;
+			}
+			if ((table[slot] ^ data) == key) {
+				// Same position: keep a deeper result from this search unless the new
+				// one is exact, and keep the old move if the new result has none
+				if (bound != BOUND_EXACT && depth + 2 < depth(data) && age(data) == age) {
+					return;
+				}
+				if (move == 0) {
+					move = move(data);
+				}
+				victim = slot;
+				break;
+			}
+			int relativeAge = (age - age(data)) & AGE_MASK;
+			int value = depth(data) - 8 * relativeAge;
+			if (value < victimValue) {
+				victim = slot;
+				victimValue = value;
+			}
+		}
+		long data = (move & 0xFFFFL) | ((score & 0xFFFFL) << 16) | ((long) (depth & 0xFF) << 32)
+				| ((long) bound << 40) | ((long) age << 42) | OCCUPIED_BIT;
+		table[victim] = key ^ data;
+		table[victim + 1] = data;
+	}
+
+	/**
+	 * @return how full the table is in permille, counting only entries written
+	 *         by the current search in a sample of the first clusters
+	 */
+	public int hashfull() {
+		int sampleEntries = Math.min(1000, table.length / 2);
+		int used = 0;
+		for (int entry = 0; entry < sampleEntries; entry++) {
+			long data = table[entry * 2 + 1];
+			if (data != MISS && age(data) == age) {
+				used++;
+			}
+		}
+		return used * 1000 / sampleEntries;
+	}
+
+	private int clusterIndex(long key) {
+		return ((int) key & clusterMask) * LONGS_PER_CLUSTER;
+	}
+
+	// ====== ENTRY ACCESSORS ======
+
+	public static int move(long data) {
+		return (int) (data & 0xFFFF);
+	}
+
+	public static int score(long data) {
+		return (short) (data >>> 16);
+	}
+
+	public static int depth(long data) {
+		return (int) ((data >>> 32) & 0xFF);
+	}
+
+	public static int bound(long data) {
+		return (int) ((data >>> 40) & 3);
+	}
+
+	private static int age(long data) {
+		return (int) ((data >>> 42) & AGE_MASK);
+	}
+}
@@ -0,0 +1,442 @@
+package engine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import piece.Fen;
+import piece.Move;
+import piece.Position;
+import piece.Rules;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Universal Chess Interface front-end: reads UCI commands from standard input
+ * and answers on standard output, so the engine can be run by chess GUIs and
+ * by match tools such as cutechess-cli.
+ *
+ * Supported commands: uci, isready, ucinewgame, setoption (Hash, Threads,
+ * OwnBook, BookFile and TablebasePath),
+ * position (startpos or fen, with moves), go (depth, movetime, wtime, btime,
+ * winc, binc, movestogo, nodes, infinite), stop and quit. Moves are read with
+ * Rules.parseUci, so an illegal move in a position command is reported and the
+ * rest of the moves are ignored.
+ *
+ * With OwnBook on and a BookFile set, go plays a book move at once when the
+ * position is in the book (not for go infinite, which is analysis).
+ *
+ * The search runs on its own thread so stop and isready are answered while it
+ * thinks. Every completed iteration prints an info line with depth, score,
+ * nodes, nps, hashfull, time and the principal variation.
+ *
+ * Usage: java engine.Uci
+ */
+public class Uci implements SearchListener {
+
+	private static final String NAME = "Chess";
+	private static final String AUTHOR = "Arturo Medina";
+
+	// Hash option in megabytes
+	private static final int DEFAULT_HASH = 64;
+	private static final int MAX_HASH = 4096;
+
+	// A Uci has-a out (where replies go)
+	private final PrintStream out;
+	// A Uci has-a table and search (shared by every go command)
+	private final TranspositionTable table = new TranspositionTable(DEFAULT_HASH);
+	private final ParallelSearch search = new ParallelSearch(table, 1);
+	// A Uci has-a book (opened by the BookFile option, or null) and ownBook
+	private OpeningBook book;
+	private boolean ownBook;
+	// A Uci has-a tablebases (opened by the TablebasePath option, or null)
+	private Tablebases tablebases;
+	// A Uci has-a position (set by the last position command)
+	private final Position position = Fen.parse(Fen.START_POSITION);
+	// A Uci has-a gameKeys (keys of the positions before the current one, for
+	// repetition detection) and gameKeyCount
+	private long[] gameKeys = new long[256];
+	private int gameKeyCount;
+	// A Uci has-a searchThread (the running go command, or null)
+	private Thread searchThread;
+	// A Uci has-a stopRequested flag (an infinite search waits for it before
+	// printing bestmove, as the protocol requires)
+	private volatile boolean stopRequested;
+
+	public Uci(PrintStream out) {
+		this.out = out;
+		search.setListener(this);
+	}
+
+	/**
+	 * Answers commands until quit or the end of the input.
+	 */
+	public void run(BufferedReader in) throws IOException {
+		String line;
+		while ((line = in.readLine()) != null) {
+			if (!handle(line)) {
+				break;
+			}
+		}
+		stopSearch();
+		search.shutdown();
+		closeBook();
+		closeTablebases();
+	}
+
+	/**
+	 * Answers one command line.
+	 *
+	 * @return false once quit has been received
+	 */
+	boolean handle(String line) {
+		String[] words = line.trim().split("\\s+");
+		switch (words[0]) {
+		case "uci":
+			send("id name " + NAME);
+			send("id author " + AUTHOR);
+			send("option name Hash type spin default " + DEFAULT_HASH + " min 1 max " + MAX_HASH);
+			send("option name Threads type spin default 1 min 1 max " + ParallelSearch.MAX_THREADS);
+			send("option name OwnBook type check default false");
+			send("option name BookFile type string default <empty>");
+			send("option name TablebasePath type string default <empty>");
+			send("uciok");
+			break;
+		case "isready":
+			send("readyok");
+			break;
+		case "ucinewgame":
+			stopSearch();
+			table.clear();
+			search.clearHeuristics();
+			break;
+		case "setoption":
+			stopSearch();
+			setOption(words);
+			break;
+		case "position":
+			stopSearch();
+			setPosition(words);
+			break;
+		case "go":
+			stopSearch();
+			go(words);
+			break;
+		case "stop":
+			stopSearch();
+			break;
+		case "quit":
+			return false;
+		default:
+			if (!words[0].isEmpty()) {
+				send("info string unknown command " + words[0]);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Handles "setoption name &lt;name&gt; value &lt;value&gt;".
+	 */
+	private void setOption(String[] words) {
+		int nameIndex = indexOf(words, "name");
+		int valueIndex = indexOf(words, "value");
+		if (nameIndex < 0 || valueIndex < 0 || valueIndex + 1 >= words.length) {
+			return;
+		}
+		String name = String.join(" ", Arrays.copyOfRange(words, nameIndex + 1, valueIndex));
+		String value = String.join(" ", Arrays.copyOfRange(words, valueIndex + 1, words.length));
+		if (name.equalsIgnoreCase("OwnBook")) {
+			ownBook = Boolean.parseBoolean(value);
+		} else if (name.equalsIgnoreCase("BookFile")) {
+			openBook(value);
+		} else if (name.equalsIgnoreCase("TablebasePath")) {
+			openTablebases(value);
+		} else if (name.equalsIgnoreCase("Hash") || name.equalsIgnoreCase("Threads")) {
+			int number;
+			try {
+				number = Integer.parseInt(value);
+			} catch (NumberFormatException e) {
+				send("info string bad value for " + name);
+				return;
+			}
+			if (name.equalsIgnoreCase("Hash")) {
+				table.resize(Math.max(1, Math.min(number, MAX_HASH)));
+			} else {
+				search.setThreads(number);
+			}
+		} else {
+			send("info string unknown option " + name);
+		}
+	}
+
+	/**
+	 * Replaces the opening book; "&lt;empty&gt;" or an empty name just closes it.
+	 */
+	private void openBook(String file) {
+		closeBook();
+		if (file.isEmpty() || file.equals("<empty>")) {
+			return;
+		}
+		try {
+			book = OpeningBook.open(Paths.get(file));
+			send("info string book " + file + " with " + book.getEntryCount() + " entries");
+		} catch (IOException | InvalidPathException e) {
+			send("info string cannot open book " + file + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Replaces the tablebases with the tables of a directory; "&lt;empty&gt;" or
+	 * an empty name just closes them.
+	 */
+	private void openTablebases(String directory) {
+		closeTablebases();
+		if (directory.isEmpty() || directory.equals("<empty>")) {
+			return;
+		}
+		try {
+			tablebases = Tablebases.open(Paths.get(directory));
+			search.setTablebases(tablebases);
+			send("info string " + tablebases.getTableCount() + " tablebases in " + directory);
+		} catch (IOException | InvalidPathException e) {
+			send("info string cannot open tablebases " + directory + ": " + e.getMessage());
+		}
+	}
+
+	private void closeTablebases() {
+		if (tablebases == null) {
+			return;
+		}
+		search.setTablebases(null);
+		try {
+			tablebases.close();
+		} catch (IOException e) {
+			send("info string cannot close tablebases: " + e.getMessage());
+		}
+		tablebases = null;
+	}
+
+	private void closeBook() {
+		if (book == null) {
+			return;
+		}
+		try {
+			book.close();
+		} catch (IOException e) {
+			send("info string cannot close book: " + e.getMessage());
+		}
+		book = null;
+	}
+
+	/**
+	 * Handles "position startpos|fen &lt;fen&gt; [moves &lt;move&gt;...]".
+	 */
+	private void setPosition(String[] words) {
+		int movesIndex = indexOf(words, "moves");
+		int fenEnd = movesIndex < 0 ? words.length : movesIndex;
+		gameKeyCount = 0;
+		try {
+			if (words.length > 1 && words[1].equals("fen")) {
+				Fen.parse(String.join(" ", Arrays.copyOfRange(words, 2, fenEnd)), position);
+			} else {
+				Fen.parse(Fen.START_POSITION, position);
+			}
+		} catch (IllegalArgumentException e) {
+			send("info string bad fen: " + e.getMessage());
+			Fen.parse(Fen.START_POSITION, position);
+			return;
+		}
+		if (movesIndex < 0) {
+			return;
+		}
+		for (int index = movesIndex + 1; index < words.length; index++) {
+			int move = Rules.parseUci(position, words[index]);
+			if (move == Move.NONE) {
+				send("info string illegal move " + words[index]);
+				return;
+			}
+			if (gameKeyCount == gameKeys.length) {
+				gameKeys = Arrays.copyOf(gameKeys, gameKeys.length * 2);
+			}
+			gameKeys[gameKeyCount++] = position.getKey();
+			position.makeMove(move);
+		}
+	}
+
+	/**
+	 * Handles "go" with its limits and starts the search thread.
+	 */
+	private void go(String[] words) {
+		SearchLimits limits = new SearchLimits();
+		for (int index = 1; index < words.length; index++) {
+			String word = words[index];
+			if (word.equals("infinite")) {
+				limits.setInfinite(true);
+				continue;
+			}
+			if (index + 1 >= words.length) {
+				break;
+			}
+			long value;
+			try {
+				value = Long.parseLong(words[index + 1]);
+			} catch (NumberFormatException e) {
+				continue;
+			}
+			switch (word) {
+			case "depth":
+				limits.setDepth((int) value);
+				break;
+			case "movetime":
+				limits.setMoveTime(value);
+				break;
+			case "nodes":
+				limits.setNodes(value);
+				break;
+			case "wtime":
+				// A clock that has run out still needs a move
+				limits.setWhiteTime(Math.max(1, value));
+				break;
+			case "btime":
+				limits.setBlackTime(Math.max(1, value));
+				break;
+			case "winc":
+				limits.setWhiteIncrement(value);
+				break;
+			case "binc":
+				limits.setBlackIncrement(value);
+				break;
+			case "movestogo":
+				limits.setMovesToGo((int) value);
+				break;
+			default:
+				continue;
+			}
+			index++;
+		}
+
+		if (ownBook && book != null && !limits.isInfinite()) {
+			int bookMove = book.probe(position);
+			if (bookMove != Move.NONE) {
+				send("info string book move");
+				send("bestmove " + Move.toUci(bookMove));
+				return;
+			}
+		}
+
+		Position root = new Position();
+		root.copyFrom(position);
+		search.setGameHistory(gameKeys, gameKeyCount);
+		search.resetStop();
+		stopRequested = false;
+		searchThread = new Thread(() -> think(root, limits), "uci-search");
+		searchThread.start();
+	}
+
+	/**
+	 * Runs on the search thread: searches, then prints bestmove.
+	 */
+	private void think(Position root, SearchLimits limits) {
+		int bestMove = search.search(root, limits);
+		// An infinite search must not answer before it is told to stop
+		if (limits.isInfinite()) {
+			synchronized (this) {
+				while (!stopRequested) {
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						break;
+					}
+				}
+			}
+		}
+		send("bestmove " + (bestMove == Move.NONE ? "0000" : Move.toUci(bestMove)));
+	}
+
+	/**
+	 * Stops a running search and waits until its bestmove has been printed.
+	 */
+	private void stopSearch() {
+		if (searchThread == null) {
+			return;
+		}
+		synchronized (this) {
+			stopRequested = true;
+			notifyAll();
+		}
+		search.stop();
+		boolean interrupted = false;
+		while (true) {
+			try {
+				searchThread.join();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		searchThread = null;
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Prints the UCI info line of a completed iteration.
+	 */
+	@Override
+	public void iterationCompleted(int depth, int score, long nodes, long elapsedMillis, int[] pv, int pvLength) {
+		StringBuilder line = new StringBuilder("info depth ").append(depth);
+		if (Search.isMateScore(score)) {
+			// Mate in moves, not plies; negative when the engine is mated
+			int plies = Search.MATE - Math.abs(score);
+			line.append(" score mate ").append(score > 0 ? (plies + 1) / 2 : -(plies / 2));
+		} else {
+			line.append(" score cp ").append(score);
+		}
+		line.append(" nodes ").append(nodes);
+		line.append(" nps ").append(nodes * 1000 / Math.max(1, elapsedMillis));
+		line.append(" hashfull ").append(table.hashfull());
+		line.append(" time ").append(elapsedMillis);
+		line.append(" pv");
+		for (int index = 0; index < pvLength; index++) {
+			line.append(' ').append(Move.toUci(pv[index]));
+		}
+		send(line.toString());
+	}
+
+	private void send(String line) {
+		synchronized (out) {
+			out.println(line);
+			out.flush();
+		}
+	}
+
+	private static int indexOf(String[] words, String word) {
+		for (int index = 0; index < words.length; index++) {
+			if (words[index].equals(word)) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	public static void main(String[] args) throws IOException {
+		BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.US_ASCII));
+		new Uci(System.out).run(in);
+	}
+}
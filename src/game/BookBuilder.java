@@ -0,0 +1,212 @@
+package game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import engine.OpeningBook;
+import engine.PolyglotKey;
+import piece.Fen;
+import piece.Position;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Builds an OpeningBook from PGN files. Every move of the first plies of
+ * every valid game is counted for the position it was played in, and scored
+ * for the side that played it: 2 for a win, 1 for a draw or an unknown
+ * result, 0 for a loss. Moves played in fewer than the minimum number of
+ * games, and moves that never scored, are left out; the rest get their score
+ * as weight, scaled down for a position when it does not fit 16 bits.
+ * Positions are keyed by PolyglotKey, so other Polyglot tools can read the
+ * book.
+ *
+ * Usage: java game.BookBuilder [-plies n] [-min n] out.bin in.pgn...
+ */
+public class BookBuilder {
+
+	// Plies of each game that go into the book by default
+	private static final int DEFAULT_PLIES = 24;
+	// Games a move needs by default to go into the book
+	private static final int DEFAULT_MIN_GAMES = 2;
+
+	/**
+	 * Counts of the moves played in one position.
+	 */
+	private static final class BookMoves {
+		// A BookMoves has-a moves (Polyglot encoded), games, scores and count
+		private int[] moves = new int[4];
+		private int[] games = new int[4];
+		private int[] scores = new int[4];
+		private int count;
+
+		void add(int bookMove, int score) {
+			int index = 0;
+			while (index < count && moves[index] != bookMove) {
+				index++;
+			}
+			if (index == count) {
+				if (count == moves.length) {
+					moves = Arrays.copyOf(moves, count * 2);
+					games = Arrays.copyOf(games, count * 2);
+					scores = Arrays.copyOf(scores, count * 2);
+				}
+				moves[count++] = bookMove;
+			}
+			games[index]++;
+			scores[index] += score;
+		}
+	}
+
+	// A BookBuilder has-a plies and minGames
+	private final int plies;
+	private final int minGames;
+	// A BookBuilder has-a positions (counts by position key) and gameCount
+	private final Map<Long, BookMoves> positions = new HashMap<>();
+	private long gameCount;
+
+	public BookBuilder(int plies, int minGames) {
+		this.plies = plies;
+		this.minGames = minGames;
+	}
+
+	/**
+	 * Counts the opening moves of every valid game of a PGN file.
+	 */
+	public void addGames(Path file) throws IOException {
+		PgnGame game = new PgnGame();
+		Position position = new Position();
+		try (PgnReader reader = PgnReader.open(file)) {
+			while (reader.next(game)) {
+				if (game.isValid()) {
+					addGame(game, position);
+				}
+			}
+		}
+	}
+
+	private void addGame(PgnGame game, Position position) {
+		Fen.parse(game.getStartFen(), position);
+		int result = GameArchive.parseResult(game.getResult());
+		for (int index = 0; index < Math.min(plies, game.getMoveCount()); index++) {
+			int move = game.getMove(index);
+			int score;
+			if (result == GameArchive.WHITE_WINS || result == GameArchive.BLACK_WINS) {
+				boolean whiteWon = result == GameArchive.WHITE_WINS;
+				score = whiteWon == (position.getSideToMove() == Position.WHITE) ? 2 : 0;
+			} else {
+				score = 1;
+			}
+			positions.computeIfAbsent(PolyglotKey.of(position), key -> new BookMoves())
+					.add(OpeningBook.toBookMove(move), score);
+			position.makeMove(move);
+		}
+		gameCount++;
+	}
+
+	/**
+	 * Writes the book, sorted by key as OpeningBook expects.
+	 *
+	 * @return the number of entries written
+	 */
+	public int write(Path file) throws IOException {
+		// Sorting with the sign bit flipped puts the keys in unsigned order
+		long[] keys = new long[positions.size()];
+		int keyCount = 0;
+		for (long key : positions.keySet()) {
+			keys[keyCount++] = key ^ Long.MIN_VALUE;
+		}
+		Arrays.sort(keys);
+
+		int entries = 0;
+		ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			List<Integer> kept = new ArrayList<>();
+			for (long sortedKey : keys) {
+				long key = sortedKey ^ Long.MIN_VALUE;
+				BookMoves counts = positions.get(key);
+				kept.clear();
+				int maxScore = 0;
+				for (int index = 0; index < counts.count; index++) {
+					if (counts.games[index] >= minGames && counts.scores[index] > 0) {
+						kept.add(index);
+						maxScore = Math.max(maxScore, counts.scores[index]);
+					}
+				}
+				// Best moves first, as Polyglot tools list them
+				kept.sort((first, second) -> counts.scores[second] - counts.scores[first]);
+				for (int index : kept) {
+					int weight = (int) Math.max(1, (long) counts.scores[index] * Math.min(maxScore, 0xFFFF) / maxScore);
+					if (buffer.remaining() < OpeningBook.ENTRY_SIZE) {
+						flush(channel, buffer);
+					}
+					buffer.putLong(key);
+					buffer.putShort((short) counts.moves[index]);
+					buffer.putShort((short) weight);
+					buffer.putInt(0);
+					entries++;
+				}
+			}
+			flush(channel, buffer);
+		}
+		return entries;
+	}
+
+	public long getGameCount() {
+		return gameCount;
+	}
+
+	private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	public static void main(String[] args) throws IOException {
+		int plies = DEFAULT_PLIES;
+		int minGames = DEFAULT_MIN_GAMES;
+		List<Path> files = new ArrayList<>();
+		for (int index = 0; index < args.length; index++) {
+			if (args[index].equals("-plies") && index + 1 < args.length) {
+				plies = Integer.parseInt(args[++index]);
+			} else if (args[index].equals("-min") && index + 1 < args.length) {
+				minGames = Integer.parseInt(args[++index]);
+			} else {
+				files.add(Paths.get(args[index]));
+			}
+		}
+		if (files.size() < 2) {
+			System.out.println("Usage: java game.BookBuilder [-plies n] [-min n] out.bin in.pgn...");
+			return;
+		}
+
+		long start = System.nanoTime();
+		BookBuilder builder = new BookBuilder(plies, minGames);
+		for (Path file : files.subList(1, files.size())) {
+			builder.addGames(file);
+		}
+		int entries = builder.write(files.get(0));
+		System.out.printf("%d games, %d entries written in %.2f s%n", builder.getGameCount(), entries,
+				(System.nanoTime() - start) / 1e9);
+	}
+}
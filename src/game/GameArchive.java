@@ -0,0 +1,325 @@
+package game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import piece.Fen;
+import piece.Move;
+import piece.Position;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * A file of games in the project's compact binary format, read through a
+ * memory map so games are replayed straight from the mapped bytes.
+ *
+ * <pre>
+ * header  (32 bytes)  magic "CHGA", version u16, reserved u16, game count u32,
+ *                     reserved u32, index offset u64
+ * record  (per game)  result u8, flags u8, move count u16,
+ *                     [FEN length u16, FEN bytes]   if flags has HAS_FEN
+ *                     moves u16 each                (a Move int fits in 16 bits)
+ * index               record offset u64 per game
+ * </pre>
+ *
+ * All numbers are little-endian. Games from the standard start leave out the
+ * FEN, so an average game costs 4 bytes plus 2 bytes per move.
+ *
+ * A Cursor replays one game at a time on its own Position with makeMove:
+ * reading a move is one 16-bit load from the map, and nothing is allocated
+ * per move. Moves are stored exactly as the writer was given them and are not
+ * checked again, so only write legal games. Several threads can replay the
+ * same archive, each with its own Cursor.
+ */
+public class GameArchive implements Closeable {
+
+	// File format constants
+	static final int MAGIC = 'C' | 'H' << 8 | 'G' << 16 | 'A' << 24;
+	static final short VERSION = 1;
+	static final int HEADER_SIZE = 32;
+	static final int HAS_FEN = 1;
+	static final int MAX_MOVES = 0xFFFF;
+
+	// Game results as stored in a record
+	public static final int UNKNOWN = 0;
+	public static final int WHITE_WINS = 1;
+	public static final int BLACK_WINS = 2;
+	public static final int DRAW = 3;
+
+	// A GameArchive has-a channel and data (the whole file, mapped read only)
+	private final FileChannel channel;
+	private final ByteBuffer data;
+	// A GameArchive has-a gameCount and indexOffset
+	private final int gameCount;
+	private final long indexOffset;
+
+	private GameArchive(FileChannel channel) throws IOException {
+		this.channel = channel;
+		long size = channel.size();
+		if (size > Integer.MAX_VALUE) {
+			throw new IOException("Archive larger than 2 GB; split it into several files");
+		}
+		data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+		if (size < HEADER_SIZE || data.getInt(0) != MAGIC) {
+			throw new IOException("Not a game archive");
+		}
+		if (data.getShort(4) != VERSION) {
+			throw new IOException("Unsupported game archive version " + data.getShort(4));
+		}
+		gameCount = data.getInt(8);
+		indexOffset = data.getLong(16);
+		if (indexOffset + (long) gameCount * 8 > size) {
+			throw new IOException("Game archive index is truncated");
+		}
+	}
+
+	/**
+	 * Maps an archive file for reading.
+	 */
+	public static GameArchive open(Path file) throws IOException {
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			return new GameArchive(channel);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	public int getGameCount() {
+		return gameCount;
+	}
+
+	/**
+	 * @return a new cursor for replaying games of this archive
+	 */
+	public Cursor cursor() {
+		return new Cursor();
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * @return the archive result code for a PGN result string
+	 */
+	public static int parseResult(String result) {
+		switch (result) {
+		case PgnGame.WHITE_WINS:
+			return WHITE_WINS;
+		case PgnGame.BLACK_WINS:
+			return BLACK_WINS;
+		case PgnGame.DRAW:
+			return DRAW;
+		default:
+			return UNKNOWN;
+		}
+	}
+
+	/**
+	 * @return the PGN result string for an archive result code
+	 */
+	public static String resultText(int result) {
+		switch (result) {
+		case WHITE_WINS:
+			return PgnGame.WHITE_WINS;
+		case BLACK_WINS:
+			return PgnGame.BLACK_WINS;
+		case DRAW:
+			return PgnGame.DRAW;
+		default:
+			return PgnGame.UNKNOWN;
+		}
+	}
+
+	/**
+	 * Replays games of the archive move by move:
+	 *
+	 * <pre>
+	 * cursor.seek(game);
+	 * while (cursor.next()) {
+	 * 	... cursor.getMove(), cursor.getPosition() ...
+	 * }
+	 * </pre>
+	 */
+	public final class Cursor {
+		// A Cursor has-a position (the game's position after the moves read) and
+		// start (the standard start, copied instead of parsing FEN every game)
+		private final Position position = new Position();
+		private final Position start = Fen.parse(Fen.START_POSITION);
+		// A Cursor has-a movesOffset (first move of the game), moveCount, ply and
+		// the last move read
+		private int movesOffset;
+		private int moveCount;
+		private int ply;
+		private int move = Move.NONE;
+		private int result;
+		private String startFen = Fen.START_POSITION;
+
+		private Cursor() {
+		}
+
+		/**
+		 * Moves to the start of a game.
+		 *
+		 * @param game the game number, from 0 to getGameCount() - 1
+		 */
+		public void seek(int game) {
+			if (game < 0 || game >= gameCount) {
+				throw new IndexOutOfBoundsException("No game " + game + " in an archive of " + gameCount);
+			}
+			int offset = (int) data.getLong((int) indexOffset + game * 8);
+			result = data.get(offset);
+			int flags = data.get(offset + 1);
+			moveCount = data.getShort(offset + 2) & 0xFFFF;
+			offset += 4;
+			if ((flags & HAS_FEN) != 0) {
+				int length = data.getShort(offset) & 0xFFFF;
+				byte[] fen = new byte[length];
+				for (int index = 0; index < length; index++) {
+					fen[index] = data.get(offset + 2 + index);
+				}
+				startFen = new String(fen, StandardCharsets.US_ASCII);
+				Fen.parse(startFen, position);
+				offset += 2 + length;
+			} else {
+				startFen = Fen.START_POSITION;
+				position.copyFrom(start);
+			}
+			movesOffset = offset;
+			ply = 0;
+			move = Move.NONE;
+		}
+
+		/**
+		 * Plays the next move of the game on the position.
+		 *
+		 * @return false once every move of the game has been played
+		 */
+		public boolean next() {
+			if (ply == moveCount) {
+				return false;
+			}
+			move = data.getShort(movesOffset + ply * 2) & 0xFFFF;
+			position.makeMove(move);
+			ply++;
+			return true;
+		}
+
+		/**
+		 * Copies the moves of the current game without replaying them.
+		 *
+		 * @param buffer receives the moves; at least getMoveCount() long
+		 * @return the number of moves copied
+		 */
+		public int getMoves(int[] buffer) {
+			for (int index = 0; index < moveCount; index++) {
+				buffer[index] = data.getShort(movesOffset + index * 2) & 0xFFFF;
+			}
+			return moveCount;
+		}
+
+		/**
+		 * @return the position after the moves played so far; owned by the cursor
+		 */
+		public Position getPosition() {
+			return position;
+		}
+
+		/**
+		 * @return the move played by the last call to next
+		 */
+		public int getMove() {
+			return move;
+		}
+
+		public int getPly() {
+			return ply;
+		}
+
+		public int getMoveCount() {
+			return moveCount;
+		}
+
+		public int getResult() {
+			return result;
+		}
+
+		public String getStartFen() {
+			return startFen;
+		}
+	}
+
+	// ====== CONVERSION AND BENCHMARK ======
+
+	/**
+	 * Converts PGN files to an archive, or replays an archive and prints moves
+	 * per second. Games with illegal moves are left out of the archive.
+	 *
+	 * Usage: java game.GameArchive convert out.chg in.pgn... |
+	 * java game.GameArchive replay file.chg
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length >= 3 && args[0].equals("convert")) {
+			long start = System.nanoTime();
+			int skipped = 0;
+			PgnGame game = new PgnGame();
+			try (GameArchiveWriter writer = new GameArchiveWriter(Paths.get(args[1]))) {
+				for (int index = 2; index < args.length; index++) {
+					try (PgnReader reader = PgnReader.open(Paths.get(args[index]))) {
+						while (reader.next(game)) {
+							if (game.isValid() && game.getMoveCount() <= MAX_MOVES) {
+								writer.write(game);
+							} else {
+								skipped++;
+							}
+						}
+					}
+				}
+				System.out.printf("%d games written, %d skipped in %.2f s%n", writer.getGameCount(), skipped,
+						(System.nanoTime() - start) / 1e9);
+			}
+		} else if (args.length == 2 && args[0].equals("replay")) {
+			try (GameArchive archive = open(Paths.get(args[1]))) {
+				Cursor cursor = archive.cursor();
+				// Two passes: the first warms up the JIT
+				for (int pass = 0; pass < 2; pass++) {
+					long start = System.nanoTime();
+					long moves = 0;
+					long checksum = 0;
+					for (int game = 0; game < archive.getGameCount(); game++) {
+						cursor.seek(game);
+						while (cursor.next()) {
+							moves++;
+						}
+						checksum ^= cursor.getPosition().getKey();
+					}
+					double seconds = Math.max(1, System.nanoTime() - start) / 1e9;
+					System.out.printf("%d games, %d moves in %.2f s: %.0f games/s, %.0f moves/s (checksum %x)%n",
+							archive.getGameCount(), moves, seconds, archive.getGameCount() / seconds, moves / seconds,
+							checksum);
+				}
+			}
+		} else {
+			System.out.println("Usage: java game.GameArchive convert out.chg in.pgn... | replay file.chg");
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import piece.Fen;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Writes games to a GameArchive file. Games are appended one record at a
+ * time through a fixed buffer; close writes the index and fills in the
+ * header. The file layout is described in GameArchive.
+ *
+ * Moves are stored as they are given, so they must be legal in the game's
+ * position (e.g. from Game, PgnReader or MoveGenerator).
+ */
+public class GameArchiveWriter implements Closeable {
+
+	// A GameArchiveWriter has-a channel and buffer (records not yet written)
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+	// A GameArchiveWriter has-a offsets (file offset of every record) and
+	// gameCount
+	private long[] offsets = new long[1024];
+	private int gameCount;
+	// A GameArchiveWriter has-a fileOffset (where the buffer's first byte goes)
+	private long fileOffset = GameArchive.HEADER_SIZE;
+
+	/**
+	 * Creates or replaces the file.
+	 */
+	public GameArchiveWriter(Path file) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE);
+		channel.position(GameArchive.HEADER_SIZE);
+	}
+
+	/**
+	 * Appends one game.
+	 *
+	 * @param startFen  the position the game starts from
+	 * @param moves     the moves, as Move ints
+	 * @param moveCount how many of the moves to store
+	 * @param result    GameArchive.UNKNOWN, WHITE_WINS, BLACK_WINS or DRAW
+	 */
+	public void write(String startFen, int[] moves, int moveCount, int result) throws IOException {
+		if (moveCount > GameArchive.MAX_MOVES) {
+			throw new IllegalArgumentException("Too many moves for one record: " + moveCount);
+		}
+		byte[] fen = startFen.equals(Fen.START_POSITION) ? null : startFen.getBytes(StandardCharsets.US_ASCII);
+		int size = 4 + (fen != null ? 2 + fen.length : 0) + moveCount * 2;
+		if (buffer.remaining() < size) {
+			flush();
+		}
+		if (gameCount == offsets.length) {
+			offsets = Arrays.copyOf(offsets, offsets.length * 2);
+		}
+		offsets[gameCount++] = fileOffset + buffer.position();
+
+		if (size > buffer.capacity()) {
+			ByteBuffer record = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+			putRecord(record, fen, moves, moveCount, result);
+			record.flip();
+			writeFully(record);
+			fileOffset += size;
+		} else {
+			putRecord(buffer, fen, moves, moveCount, result);
+		}
+	}
+
+	/**
+	 * Appends one game read from PGN.
+	 */
+	public void write(PgnGame game) throws IOException {
+		int[] moves = new int[game.getMoveCount()];
+		for (int index = 0; index < moves.length; index++) {
+			moves[index] = game.getMove(index);
+		}
+		write(game.getStartFen(), moves, moves.length, GameArchive.parseResult(game.getResult()));
+	}
+
+	/**
+	 * Writes the index and the header, then closes the file.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+			long indexOffset = fileOffset;
+			for (int index = 0; index < gameCount; index++) {
+				if (buffer.remaining() < 8) {
+					flush();
+				}
+				buffer.putLong(offsets[index]);
+			}
+			flush();
+
+			ByteBuffer header = ByteBuffer.allocate(GameArchive.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			header.putInt(GameArchive.MAGIC);
+			header.putShort(GameArchive.VERSION);
+			header.putShort((short) 0);
+			header.putInt(gameCount);
+			header.putInt(0);
+			header.putLong(indexOffset);
+			header.rewind();
+			channel.position(0);
+			writeFully(header);
+		} finally {
+			channel.close();
+		}
+	}
+
+	public int getGameCount() {
+		return gameCount;
+	}
+
+	private static void putRecord(ByteBuffer target, byte[] fen, int[] moves, int moveCount, int result) {
+		target.put((byte) result);
+		target.put((byte) (fen != null ? GameArchive.HAS_FEN : 0));
+		target.putShort((short) moveCount);
+		if (fen != null) {
+			target.putShort((short) fen.length);
+			target.put(fen);
+		}
+		for (int index = 0; index < moveCount; index++) {
+			// A Move int already fits in 16 bits: from, to and flags
+			target.putShort((short) moves[index]);
+		}
+	}
+
+	private void flush() throws IOException {
+		buffer.flip();
+		fileOffset += buffer.remaining();
+		writeFully(buffer);
+		buffer.clear();
+	}
+
+	private void writeFully(ByteBuffer source) throws IOException {
+		while (source.hasRemaining()) {
+			channel.write(source);
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package game;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import piece.Fen;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * One game of a PGN file: its tag pairs, its moves (encoded as Move ints,
+ * already checked against the rules) and its result. A PgnReader fills the
+ * same object game after game, so reading a file does not allocate a game
+ * per game.
+ */
+public class PgnGame {
+
+	// Results as written in PGN
+	public static final String WHITE_WINS = "1-0";
+	public static final String BLACK_WINS = "0-1";
+	public static final String DRAW = "1/2-1/2";
+	public static final String UNKNOWN = "*";
+
+	// A PgnGame has-a tags (tag pairs in the order they were read)
+	private final Map<String, String> tags = new LinkedHashMap<>();
+	// A PgnGame has-a moves and moveCount
+	private int[] moves = new int[256];
+	private int moveCount;
+	// A PgnGame has-a result (the game termination marker)
+	private String result = UNKNOWN;
+	// A PgnGame has-a error (why the movetext could not be replayed, or null)
+	private String error;
+
+	/** Forgets everything so the object can hold the next game. */
+	public void clear() {
+		tags.clear();
+		moveCount = 0;
+		result = UNKNOWN;
+		error = null;
+	}
+
+	public void addMove(int move) {
+		if (moveCount == moves.length) {
+			moves = Arrays.copyOf(moves, moves.length * 2);
+		}
+		moves[moveCount++] = move;
+	}
+
+	/**
+	 * @return the FEN the game starts from: the FEN tag, or the standard start
+	 */
+	public String getStartFen() {
+		String fen = tags.get("FEN");
+		return fen != null ? fen : Fen.START_POSITION;
+	}
+
+	/**
+	 * @return true if every move of the movetext was legal
+	 */
+	public boolean isValid() {
+		return error == null;
+	}
+
+	// ====== GETTER AND SETTER METHODS ======
+
+	/**
+	 * @return the value of the tag, or null if the game does not have it
+	 */
+	public String getTag(String name) {
+		return tags.get(name);
+	}
+
+	public void setTag(String name, String value) {
+		tags.put(name, value);
+	}
+
+	/**
+	 * @return the tag pairs in order; changes write through to the game
+	 */
+	public Map<String, String> getTags() {
+		return tags;
+	}
+
+	public int getMove(int index) {
+		return moves[index];
+	}
+
+	public int getMoveCount() {
+		return moveCount;
+	}
+
+	public String getResult() {
+		return result;
+	}
+
+	public void setResult(String result) {
+		this.result = result;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public void setError(String error) {
+		this.error = error;
+	}
+}
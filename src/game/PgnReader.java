@@ -0,0 +1,387 @@
+package game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import piece.Fen;
+import piece.Move;
+import piece.Position;
+import piece.San;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Streaming reader of Portable Game Notation (PGN) files. Games are read one
+ * at a time into a PgnGame, so a file of any size needs only the current
+ * game in memory. A file opened with open is memory-mapped a window at a
+ * time; any other source is read through a fixed buffer.
+ *
+ * Every SAN move is replayed on a Position with San.parse, so the moves come
+ * out as encoded, legal Move ints. A game with an illegal or unreadable move
+ * keeps its tags and the moves before it, gets an error message, and the
+ * reader carries on with the next game.
+ *
+ * Comments ({...} and ;...), variations (...), numeric annotation glyphs
+ * ($n), move numbers and escape lines (starting with %) are skipped. One
+ * reader must only be used by one thread; read several files in parallel with
+ * one reader each.
+ */
+public class PgnReader implements Closeable {
+
+	// Size of the read buffer for streams
+	private static final int BUFFER_SIZE = 1 << 16;
+	// Bytes of a file mapped at a time
+	private static final long MAP_WINDOW = 1L << 28;
+	// Returned by read at the end of the input
+	private static final int END = -1;
+
+	// A PgnReader has-a channel (mapped file) or in (stream); one of them is null
+	private final FileChannel channel;
+	private final InputStream in;
+	// A PgnReader has-a buffer (current window or chunk of the input) and
+	// mappedUpTo (file offset after the current window)
+	private ByteBuffer buffer;
+	private long mappedUpTo;
+	// A PgnReader has-a pushedBack byte (END when there is none), and the last
+	// two bytes read (for spotting a '%' at the start of a line)
+	private int pushedBack = END;
+	private int lastByte = '\n';
+	private int previousByte = '\n';
+	// A PgnReader has-a position and token, reused for every game
+	private final Position position = new Position();
+	private final StringBuilder token = new StringBuilder(32);
+	private byte[] tagBytes = new byte[256];
+
+	/**
+	 * Reads PGN from a stream through a buffer; the stream is closed by close.
+	 */
+	public PgnReader(InputStream in) {
+		this.channel = null;
+		this.in = in;
+		this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		buffer.limit(0);
+	}
+
+	private PgnReader(FileChannel channel) {
+		this.channel = channel;
+		this.in = null;
+		this.buffer = ByteBuffer.allocate(0);
+	}
+
+	/**
+	 * Opens a PGN file memory-mapped, so the file is never copied into the heap.
+	 */
+	public static PgnReader open(Path file) throws IOException {
+		return new PgnReader(FileChannel.open(file, StandardOpenOption.READ));
+	}
+
+	/**
+	 * Reads the next game into the given object.
+	 *
+	 * @return false at the end of the input, when there is no further game
+	 */
+	public boolean next(PgnGame game) throws IOException {
+		game.clear();
+		boolean found = false;
+		boolean inMovetext = false;
+		int ply = 0;
+		while (true) {
+			int symbol = read();
+			if (symbol == END) {
+				return found;
+			}
+			if (symbol <= ' ') {
+				continue;
+			}
+			if (symbol == '%' && isLineStart()) {
+				skipLine();
+				continue;
+			}
+			switch (symbol) {
+			case '[':
+				if (inMovetext) {
+					// A tag after movetext without a result starts the next game
+					unread(symbol);
+					return true;
+				}
+				readTag(game);
+				found = true;
+				continue;
+			case '{':
+				skipComment();
+				continue;
+			case ';':
+				skipLine();
+				continue;
+			case '(':
+				skipVariation();
+				continue;
+			case '$':
+				readToken(symbol);
+				continue;
+			case ')':
+			case ']':
+			case '}':
+				continue;
+			default:
+			}
+
+			readToken(symbol);
+			found = true;
+			if (!inMovetext) {
+				inMovetext = true;
+				startMoves(game);
+			}
+			if (isResult(token)) {
+				game.setResult(token.toString());
+				return true;
+			}
+			String san = stripMoveNumber(token);
+			if (san.isEmpty() || !game.isValid()) {
+				continue;
+			}
+			int move = San.parse(position, san);
+			if (move == Move.NONE) {
+				game.setError("illegal move " + san + " at ply " + (ply + 1));
+				continue;
+			}
+			position.makeMove(move);
+			game.addMove(move);
+			ply++;
+		}
+	}
+
+	/**
+	 * @return the position after the moves of the last game read; only valid
+	 *         until next is called again
+	 */
+	public Position getPosition() {
+		return position;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (channel != null) {
+			channel.close();
+		} else {
+			in.close();
+		}
+	}
+
+	// ====== PARSING ======
+
+	private void startMoves(PgnGame game) {
+		try {
+			Fen.parse(game.getStartFen(), position);
+		} catch (IllegalArgumentException e) {
+			game.setError(e.getMessage());
+		}
+	}
+
+	/**
+	 * Reads [Name "value"] after the opening bracket.
+	 */
+	private void readTag(PgnGame game) throws IOException {
+		int symbol = skipSpaces(read());
+		token.setLength(0);
+		while (symbol > ' ' && symbol != '"' && symbol != ']') {
+			token.append((char) symbol);
+			symbol = read();
+		}
+		String name = token.toString();
+		symbol = skipSpaces(symbol);
+		int length = 0;
+		if (symbol == '"') {
+			while ((symbol = read()) != END && symbol != '"') {
+				if (symbol == '\\') {
+					symbol = read();
+					if (symbol == END) {
+						break;
+					}
+				}
+				if (length == tagBytes.length) {
+					tagBytes = Arrays.copyOf(tagBytes, length * 2);
+				}
+				tagBytes[length++] = (byte) symbol;
+			}
+			symbol = read();
+		}
+		while (symbol != END && symbol != ']' && symbol != '\n') {
+			symbol = read();
+		}
+		if (!name.isEmpty()) {
+			game.setTag(name, new String(tagBytes, 0, length, StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * Reads a token that starts with the given byte into token, up to a space or
+	 * a character that starts something else.
+	 */
+	private void readToken(int first) throws IOException {
+		token.setLength(0);
+		token.append((char) first);
+		int symbol;
+		while ((symbol = read()) != END) {
+			if (symbol <= ' ') {
+				break;
+			}
+			if ("{}()[];$".indexOf(symbol) >= 0) {
+				unread(symbol);
+				break;
+			}
+			token.append((char) symbol);
+		}
+	}
+
+	private static boolean isResult(StringBuilder text) {
+		return matches(text, PgnGame.WHITE_WINS) || matches(text, PgnGame.BLACK_WINS)
+				|| matches(text, PgnGame.DRAW) || matches(text, PgnGame.UNKNOWN);
+	}
+
+	private static boolean matches(StringBuilder text, String expected) {
+		if (text.length() != expected.length()) {
+			return false;
+		}
+		for (int index = 0; index < expected.length(); index++) {
+			if (text.charAt(index) != expected.charAt(index)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Drops a leading move number such as "12." or "12..." ("0-0" is castling,
+	 * not a number).
+	 */
+	private static String stripMoveNumber(StringBuilder text) {
+		int length = text.length();
+		int digits = 0;
+		while (digits < length && Character.isDigit(text.charAt(digits))) {
+			digits++;
+		}
+		if (digits == length) {
+			return "";
+		}
+		if (digits > 0 && text.charAt(digits) != '.') {
+			return text.toString();
+		}
+		int index = digits;
+		while (index < length && text.charAt(index) == '.') {
+			index++;
+		}
+		return text.substring(index);
+	}
+
+	private void skipComment() throws IOException {
+		int symbol;
+		while ((symbol = read()) != END && symbol != '}') {
+			// Comments do not nest
+		}
+	}
+
+	private void skipLine() throws IOException {
+		int symbol;
+		while ((symbol = read()) != END && symbol != '\n') {
+			// Rest of the line is ignored
+		}
+	}
+
+	/**
+	 * Skips a variation after its opening parenthesis, including nested
+	 * variations and comments that may contain parentheses.
+	 */
+	private void skipVariation() throws IOException {
+		int depth = 1;
+		int symbol;
+		while (depth > 0 && (symbol = read()) != END) {
+			if (symbol == '(') {
+				depth++;
+			} else if (symbol == ')') {
+				depth--;
+			} else if (symbol == '{') {
+				skipComment();
+			} else if (symbol == ';') {
+				skipLine();
+			}
+		}
+	}
+
+	private int skipSpaces(int symbol) throws IOException {
+		while (symbol != END && symbol <= ' ') {
+			symbol = read();
+		}
+		return symbol;
+	}
+
+	// ====== INPUT ======
+
+	/**
+	 * @return true if the byte just read is the first of its line
+	 */
+	private boolean isLineStart() {
+		return previousByte == '\n' || previousByte == '\r';
+	}
+
+	private int read() throws IOException {
+		int symbol;
+		if (pushedBack != END) {
+			symbol = pushedBack;
+			pushedBack = END;
+			return symbol;
+		}
+		if (!buffer.hasRemaining() && !refill()) {
+			return END;
+		}
+		symbol = buffer.get() & 0xFF;
+		previousByte = lastByte;
+		lastByte = symbol;
+		return symbol;
+	}
+
+	private void unread(int symbol) {
+		pushedBack = symbol;
+	}
+
+	/**
+	 * Maps the next window of the file, or reads the next chunk of the stream.
+	 *
+	 * @return false at the end of the input
+	 */
+	private boolean refill() throws IOException {
+		if (channel != null) {
+			long size = channel.size();
+			if (mappedUpTo >= size) {
+				return false;
+			}
+			long length = Math.min(MAP_WINDOW, size - mappedUpTo);
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, mappedUpTo, length);
+			mappedUpTo += length;
+			return true;
+		}
+		int count = in.read(buffer.array());
+		if (count <= 0) {
+			return false;
+		}
+		buffer.position(0);
+		buffer.limit(count);
+		return true;
+	}
+}
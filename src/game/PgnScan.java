@@ -0,0 +1,113 @@
+package game;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Validates PGN files in bulk: every game of every file is replayed through
+ * the move rules and counted as valid or not. Files are scanned in parallel,
+ * one memory-mapped PgnReader per file, and the totals are printed with games
+ * and moves per second.
+ *
+ * Usage: java game.PgnScan [-threads n] file...
+ */
+public class PgnScan {
+
+	/**
+	 * Counts of one scanned file.
+	 */
+	static final class Result {
+		// A Result has-a file and its counts
+		private final Path file;
+		private long games;
+		private long invalidGames;
+		private long moves;
+		private String firstError;
+
+		Result(Path file) {
+			this.file = file;
+		}
+	}
+
+	/**
+	 * Replays every game of one file.
+	 */
+	static Result scan(Path file) throws IOException {
+		Result result = new Result(file);
+		PgnGame game = new PgnGame();
+		try (PgnReader reader = PgnReader.open(file)) {
+			while (reader.next(game)) {
+				result.games++;
+				result.moves += game.getMoveCount();
+				if (!game.isValid()) {
+					result.invalidGames++;
+					if (result.firstError == null) {
+						result.firstError = "game " + result.games + ": " + game.getError();
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int threads = Runtime.getRuntime().availableProcessors();
+		List<Path> files = new ArrayList<>();
+		for (int index = 0; index < args.length; index++) {
+			if (args[index].equals("-threads") && index + 1 < args.length) {
+				threads = Integer.parseInt(args[++index]);
+			} else {
+				files.add(Paths.get(args[index]));
+			}
+		}
+		if (files.isEmpty()) {
+			System.out.println("Usage: java game.PgnScan [-threads n] file...");
+			return;
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, files.size())));
+		long start = System.nanoTime();
+		List<Future<Result>> futures = new ArrayList<>();
+		for (Path file : files) {
+			futures.add(pool.submit(() -> scan(file)));
+		}
+		long games = 0;
+		long invalidGames = 0;
+		long moves = 0;
+		try {
+			for (Future<Result> future : futures) {
+				Result result = future.get();
+				games += result.games;
+				invalidGames += result.invalidGames;
+				moves += result.moves;
+				System.out.println(result.file + ": " + result.games + " games, " + result.invalidGames + " invalid"
+						+ (result.firstError != null ? " (first: " + result.firstError + ")" : ""));
+			}
+		} catch (ExecutionException e) {
+			throw new IOException("scan failed", e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+		double seconds = Math.max(1, System.nanoTime() - start) / 1e9;
+		System.out.printf("%d games (%d invalid), %d moves in %.2f s: %.0f games/s, %.0f moves/s%n", games,
+				invalidGames, moves, seconds, games / seconds, moves / seconds);
+	}
+}
@@ -0,0 +1,138 @@
+package game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+import piece.Fen;
+import piece.Position;
+import piece.San;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Writes games as PGN in the export format: the seven tag roster first (with
+ * "?" for missing values), then the other tags, then the moves in SAN with
+ * move numbers, wrapped at 80 characters, ending with the result. Games that
+ * do not start from the standard position get SetUp and FEN tags.
+ */
+public class PgnWriter implements Closeable {
+
+	// Tags every exported game has, in this order
+	private static final String[] SEVEN_TAG_ROSTER = { "Event", "Site", "Date", "Round", "White", "Black",
+			"Result" };
+	// Longest movetext line
+	private static final int LINE_LENGTH = 80;
+
+	// A PgnWriter has-a out (where the games go)
+	private final Writer out;
+	// A PgnWriter has-a position (replays each game to write its SAN)
+	private final Position position = new Position();
+	// A PgnWriter has-a line (the movetext line being filled)
+	private final StringBuilder line = new StringBuilder(LINE_LENGTH + 16);
+
+	public PgnWriter(Writer out) {
+		this.out = out;
+	}
+
+	/**
+	 * Writes one game followed by a blank line.
+	 *
+	 * @throws IllegalArgumentException if the start FEN is not valid
+	 */
+	public void write(PgnGame game) throws IOException {
+		String startFen = game.getStartFen();
+		Fen.parse(startFen, position);
+		boolean setUp = !startFen.equals(Fen.START_POSITION);
+
+		// Tag pairs
+		Map<String, String> tags = game.getTags();
+		for (String name : SEVEN_TAG_ROSTER) {
+			String value = name.equals("Result") ? game.getResult() : tags.get(name);
+			if (value == null) {
+				value = name.equals("Date") ? "????.??.??" : "?";
+			}
+			writeTag(name, value);
+		}
+		if (setUp && !tags.containsKey("SetUp")) {
+			writeTag("SetUp", "1");
+		}
+		if (setUp && !tags.containsKey("FEN")) {
+			writeTag("FEN", startFen);
+		}
+		for (Map.Entry<String, String> tag : tags.entrySet()) {
+			if (!isRosterTag(tag.getKey())) {
+				writeTag(tag.getKey(), tag.getValue());
+			}
+		}
+		out.write('\n');
+
+		// Movetext
+		line.setLength(0);
+		for (int index = 0; index < game.getMoveCount(); index++) {
+			int move = game.getMove(index);
+			if (position.getSideToMove() == Position.WHITE) {
+				appendWord(position.getFullmoveNumber() + ".");
+			} else if (index == 0) {
+				appendWord(position.getFullmoveNumber() + "...");
+			}
+			appendWord(San.toSan(position, move));
+			position.makeMove(move);
+		}
+		appendWord(game.getResult());
+		out.write(line.toString());
+		out.write("\n\n");
+	}
+
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+
+	private void writeTag(String name, String value) throws IOException {
+		out.write('[');
+		out.write(name);
+		out.write(" \"");
+		out.write(value.replace("\\", "\\\\").replace("\"", "\\\""));
+		out.write("\"]\n");
+	}
+
+	/**
+	 * Adds a word to the movetext line, starting a new line when it would not
+	 * fit.
+	 */
+	private void appendWord(String word) throws IOException {
+		if (line.length() > 0 && line.length() + 1 + word.length() > LINE_LENGTH) {
+			out.write(line.toString());
+			out.write('\n');
+			line.setLength(0);
+		}
+		if (line.length() > 0) {
+			line.append(' ');
+		}
+		line.append(word);
+	}
+
+	private static boolean isRosterTag(String name) {
+		for (String rosterName : SEVEN_TAG_ROSTER) {
+			if (rosterName.equals(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
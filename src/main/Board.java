@@ -3,6 +3,10 @@ package main;
 
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
 
 /**
  * Lead Author(s):Arturo Medina
@@ -21,8 +25,28 @@ public class Board {
 	private static final int MAX_ROW = 8;
 	private static final int SQUARE_SIZE = 100; // each side is 100 pixels
 	private static final int HALF_SQUARE_SIZE = SQUARE_SIZE / 2;
+	// Square colors
+	private static final Color DARK_SQUARE = new Color(119, 149, 86);
+	private static final Color LIGHT_SQUARE = new Color(235, 236, 208);
 
+	// A Board has-a layer (the squares, drawn once and copied on every paint)
+	private BufferedImage layer;
+
+	/**
+	 * Copies the board layer, drawing it the first time; only the part inside
+	 * the clip of boardGraphics is copied.
+	 */
 	public void draw(Graphics2D boardGraphics) {
+		if (layer == null) {
+			layer = createCompatibleImage(MAX_COL * SQUARE_SIZE, MAX_ROW * SQUARE_SIZE, Transparency.OPAQUE);
+			Graphics2D layerGraphics = layer.createGraphics();
+			drawSquares(layerGraphics);
+			layerGraphics.dispose();
+		}
+		boardGraphics.drawImage(layer, 0, 0, null);
+	}
+
+	private void drawSquares(Graphics2D boardGraphics) {
 
 		int switchSquareColor = 0;
 		// Nested for loop to create the grid seen on a chess board
@@ -31,15 +55,13 @@ public class Board {
 			for (int col = 0; col < MAX_COL; col++) {
 				// Alternate colors that are used by boardGraphics for each square
 				if (switchSquareColor == 0) {
-					boardGraphics.setColor(new Color(119, 149, 86));
+					boardGraphics.setColor(DARK_SQUARE);
 					switchSquareColor = 1; // alternate to other color
 				} else {
-					boardGraphics.setColor(new Color(235, 236, 208));
+					boardGraphics.setColor(LIGHT_SQUARE);
 					switchSquareColor = 0; // alternate to other color
 				}
 				boardGraphics.fillRect(col * SQUARE_SIZE, row * SQUARE_SIZE, SQUARE_SIZE, SQUARE_SIZE); // paint board
-																										// to
-																										// boardGraphics
 			}
 
 			// After each row alternate colors
@@ -52,6 +74,32 @@ public class Board {
 		}
 	}
 
+	/**
+	 * @return an image in the screen's pixel format (copied without conversion),
+	 *         or a plain BufferedImage when there is no screen
+	 */
+	public static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return new BufferedImage(width, height,
+					transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+		}
+		return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+				.createCompatibleImage(width, height, transparency);
+	}
+
+	/**
+	 * @return the image scaled to one square, in the screen's pixel format, so
+	 *         drawing it is a plain copy
+	 */
+	public static BufferedImage toSprite(BufferedImage image) {
+		BufferedImage sprite = createCompatibleImage(SQUARE_SIZE, SQUARE_SIZE, Transparency.TRANSLUCENT);
+		Graphics2D spriteGraphics = sprite.createGraphics();
+		spriteGraphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+		spriteGraphics.drawImage(image, 0, 0, SQUARE_SIZE, SQUARE_SIZE, null);
+		spriteGraphics.dispose();
+		return sprite;
+	}
+
 	/**
 	 * @return the squareSize
 	 */
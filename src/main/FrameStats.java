@@ -0,0 +1,74 @@
+package main;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Counts the frames the game loop ran, how many started late and how many
+ * were dropped because an earlier frame overran its slot. Only the game loop
+ * thread records; the counts are read for reports.
+ */
+public class FrameStats {
+
+	// A frame that starts more than this after its deadline is late
+	public static final long LATE_NANOS = 2000000L;
+
+	// A FrameStats has-a frames, lateFrames and droppedFrames (since the last
+	// reset)
+	private volatile long frames;
+	private volatile long lateFrames;
+	private volatile long droppedFrames;
+	// A FrameStats has-a worstLateNanos (latest start of a frame after its
+	// deadline)
+	private volatile long worstLateNanos;
+
+	/**
+	 * Records a frame that started lateNanos after its deadline, with dropped
+	 * frame slots skipped before it.
+	 */
+	void record(long lateNanos, long dropped) {
+		frames++;
+		if (lateNanos > LATE_NANOS) {
+			lateFrames++;
+		}
+		droppedFrames += dropped;
+		worstLateNanos = Math.max(worstLateNanos, lateNanos);
+	}
+
+	void reset() {
+		frames = 0;
+		lateFrames = 0;
+		droppedFrames = 0;
+		worstLateNanos = 0;
+	}
+
+	public long getFrames() {
+		return frames;
+	}
+
+	public long getLateFrames() {
+		return lateFrames;
+	}
+
+	public long getDroppedFrames() {
+		return droppedFrames;
+	}
+
+	public long getWorstLateNanos() {
+		return worstLateNanos;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d frames, %d late (worst %.1f ms), %d dropped", frames, lateFrames,
+				worstLateNanos / 1e6, droppedFrames);
+	}
+}
@@ -0,0 +1,327 @@
+package main;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import engine.Tablebases;
+import game.GameArchive;
+import game.GameArchiveWriter;
+import piece.Bishop;
+import piece.Fen;
+import piece.King;
+import piece.Knight;
+import piece.Move;
+import piece.Pawn;
+import piece.Piece;
+import piece.Position;
+import piece.Queen;
+import piece.Rook;
+import piece.Rules;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * The state of one game: its pieces, the bitboard Position built from them,
+ * whose turn it is and whether the game is over. A Game is handed to the
+ * piece logic explicitly instead of the pieces reaching into static fields,
+ * so any number of games can exist in one JVM, each on its own thread, without
+ * touching each other.
+ */
+public class Game {
+
+	// A Game has-a displayPieces (the pieces shown on the board, edited by every
+	// move played: captures, castling and promotion)
+	private final ArrayList<Piece> displayPieces = new ArrayList<>();
+	// A Game has-a position (bitboard model of displayPieces, kept in step by
+	// playing every move on it)
+	private final Position position = new Position();
+	// A Game has-a currentPlayerTurn (tracks whose turn it is)
+	private int currentPlayerTurn;
+	// A Game has-a status (Rules.IN_PROGRESS, CHECK, CHECKMATE or STALEMATE for
+	// the player to move)
+	private int status = Rules.IN_PROGRESS;
+	// A Game has-a startFen (the position the game started from) and moves (every
+	// move played, for saving the game)
+	private final String startFen;
+	private int[] moves = new int[256];
+	private int moveCount;
+	// A Game has-a tablebases (may be null) and tablebaseResult (their verdict
+	// on the position, or Tablebases.NOT_FOUND)
+	private Tablebases tablebases;
+	private int tablebaseResult = Tablebases.NOT_FOUND;
+
+	/** Creates a game in the standard starting position with white to move. */
+	public Game() {
+		this(Fen.START_POSITION);
+	}
+
+	/**
+	 * Creates a game from a position in FEN, e.g. to continue a game or to set
+	 * up a puzzle.
+	 *
+	 * @throws IllegalArgumentException if the string is not valid FEN
+	 */
+	public Game(String fen) {
+		Fen.parse(fen, position);
+		startFen = Fen.toFen(position);
+		for (int square = 0; square < 64; square++) {
+			int code = position.getPiece(square);
+			if (code != Position.EMPTY) {
+				displayPieces.add(createPiece(Position.colorOf(code), Position.typeOf(code), Position.colOf(square),
+						Position.rowOf(square)));
+			}
+		}
+		currentPlayerTurn = position.getSideToMove();
+		commit();
+	}
+
+	/**
+	 * Creates a game from its start position and moves, e.g. one loaded from a
+	 * GameArchive, by playing every move as if it had been dropped on the board.
+	 *
+	 * @throws IllegalArgumentException if the FEN or a move is not legal
+	 */
+	public Game(String fen, int[] moves, int moveCount) {
+		this(fen);
+		for (int index = 0; index < moveCount; index++) {
+			play(moves[index]);
+		}
+	}
+
+	/**
+	 * @return a new piece of the given Position color and type on the square
+	 */
+	private static Piece createPiece(int color, int type, int col, int row) {
+		switch (type) {
+		case Position.PAWN:
+			return new Pawn(color, col, row);
+		case Position.KNIGHT:
+			return new Knight(color, col, row);
+		case Position.BISHOP:
+			return new Bishop(color, col, row);
+		case Position.ROOK:
+			return new Rook(color, col, row);
+		case Position.QUEEN:
+			return new Queen(color, col, row);
+		default:
+			return new King(color, col, row);
+		}
+	}
+
+	/**
+	 * Returns the piece on a square other than the given one, or null. The
+	 * position bitboards answer for empty squares without scanning the list.
+	 *
+	 * @param exclude a piece to skip, e.g. the piece being dragged over the square
+	 */
+	public Piece getPieceAt(int col, int row, Piece exclude) {
+		if (!position.isOccupied(col, row)) {
+			return null;
+		}
+		for (Piece piece : displayPieces) {
+			if (piece.getBoardCol() == col && piece.getBoardRow() == row && piece != exclude) {
+				return piece;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Plays a move found by Piece.findMove for the piece: removes the captured
+	 * piece (including a pawn taken en passant), moves the rook when castling,
+	 * updates en passant eligibility, promotes, then works out the status and
+	 * passes the turn.
+	 *
+	 * @param piece the moving piece, already at the move's target square
+	 * @param move  the move as returned by piece.findMove
+	 */
+	public void applyMove(Piece piece, int move) {
+		if (Move.isCapture(move)) {
+			int capturedSquare = Move.capturedSquare(move);
+			displayPieces.remove(getPieceAt(Position.colOf(capturedSquare), Position.rowOf(capturedSquare), piece));
+		}
+
+		// Castling also moves the rook next to the king
+		if (Move.isCastle(move)) {
+			int row = Position.rowOf(Move.from(move));
+			boolean kingside = Move.flags(move) == Move.KING_CASTLE;
+			Piece rook = getPieceAt(kingside ? 7 : 0, row, piece);
+			if (rook != null) {
+				rook.setBoardCol(kingside ? 5 : 3);
+				rook.updatePosition();
+			}
+		}
+
+		// Pawn move handling: update and promotion
+		piece.updatePosition();
+		if (piece instanceof Pawn && Move.isPromotion(move)) {
+			((Pawn) piece).promote(displayPieces, Move.promotionType(move));
+		}
+
+		// The position plays the move itself so castling rights, the en passant
+		// square and the move clocks stay exact for toFen
+		position.makeMove(move);
+		if (moveCount == moves.length) {
+			moves = Arrays.copyOf(moves, moves.length * 2);
+		}
+		moves[moveCount++] = move;
+
+		// Switch the turn to the other player after a valid move
+		currentPlayerTurn = position.getSideToMove();
+		commit();
+	}
+
+	/**
+	 * Plays a move the way a dropped piece is played: the piece on the move's
+	 * square is put on its target square (Piece.setBoardCol/setBoardRow) and
+	 * applyMove does the rest, so loaded and dragged moves take the same path.
+	 *
+	 * @throws IllegalArgumentException if the move is not legal in the game
+	 */
+	public void play(int move) {
+		int from = Move.from(move);
+		int to = Move.to(move);
+		int promotionType = Move.isPromotion(move) ? Move.promotionType(move) : Position.QUEEN;
+		if (move == Move.NONE || Rules.findLegalMove(position, from, to, promotionType) != move) {
+			throw new IllegalArgumentException("Illegal move " + Move.toUci(move) + " in " + toFen());
+		}
+		Piece piece = getPieceAt(Position.colOf(from), Position.rowOf(from), null);
+		piece.setBoardCol(Position.colOf(to));
+		piece.setBoardRow(Position.rowOf(to));
+		applyMove(piece, move);
+	}
+
+	/**
+	 * Works out the status of the position after a move or setup.
+	 */
+	private void commit() {
+		status = Rules.getStatus(position);
+		tablebaseResult = tablebases != null ? tablebases.probe(position) : Tablebases.NOT_FOUND;
+	}
+
+	/**
+	 * @param tablebases probed after every move, or null for none
+	 */
+	public void setTablebases(Tablebases tablebases) {
+		this.tablebases = tablebases;
+		commit();
+	}
+
+	/**
+	 * @return the tablebase result of the position (see Tablebases.probe), or
+	 *         Tablebases.NOT_FOUND
+	 */
+	public int getTablebaseResult() {
+		return tablebaseResult;
+	}
+
+	/**
+	 * @return the current position in FEN
+	 */
+	public String toFen() {
+		return Fen.toFen(position);
+	}
+
+	/**
+	 * Saves the game in the project's binary GameArchive format.
+	 */
+	public void save(Path file) throws IOException {
+		try (GameArchiveWriter writer = new GameArchiveWriter(file)) {
+			writer.write(startFen, moves, moveCount, getArchiveResult());
+		}
+	}
+
+	/**
+	 * Loads the first game of a GameArchive file, replaying its moves through
+	 * play.
+	 *
+	 * @throws IOException if the file is not a game archive, has no game or is
+	 *                     corrupt (bad record offsets, FEN or moves)
+	 */
+	public static Game load(Path file) throws IOException {
+		try (GameArchive archive = GameArchive.open(file)) {
+			if (archive.getGameCount() == 0) {
+				throw new IOException("No game in " + file);
+			}
+			try {
+				GameArchive.Cursor cursor = archive.cursor();
+				cursor.seek(0);
+				int[] loaded = new int[cursor.getMoveCount()];
+				cursor.getMoves(loaded);
+				return new Game(cursor.getStartFen(), loaded, loaded.length);
+			} catch (IllegalArgumentException | IndexOutOfBoundsException | BufferUnderflowException
+					| NegativeArraySizeException e) {
+				throw new IOException("Bad game in " + file + ": " + e, e);
+			}
+		}
+	}
+
+	/**
+	 * @return GameArchive.WHITE_WINS, BLACK_WINS, DRAW or UNKNOWN if the game
+	 *         is still going
+	 */
+	public int getArchiveResult() {
+		if (status == Rules.CHECKMATE) {
+			return currentPlayerTurn == GamePanel.WHITE ? GameArchive.BLACK_WINS : GameArchive.WHITE_WINS;
+		}
+		return status == Rules.STALEMATE ? GameArchive.DRAW : GameArchive.UNKNOWN;
+	}
+
+	/**
+	 * @return true once the player to move is checkmated or stalemated
+	 */
+	public boolean isOver() {
+		return status == Rules.CHECKMATE || status == Rules.STALEMATE;
+	}
+
+	// ====== GETTER METHODS ======
+
+	/**
+	 * @return the pieces as displayed; read only outside of Game and Pawn.promote
+	 */
+	public ArrayList<Piece> getDisplayPieces() {
+		return displayPieces;
+	}
+
+	public Position getPosition() {
+		return position;
+	}
+
+	/**
+	 * @return the FEN of the position the game started from
+	 */
+	public String getStartFen() {
+		return startFen;
+	}
+
+	/**
+	 * @return a copy of the moves played so far, in order
+	 */
+	public int[] getMoves() {
+		return Arrays.copyOf(moves, moveCount);
+	}
+
+	public int getCurrentPlayerTurn() {
+		return currentPlayerTurn;
+	}
+
+	/**
+	 * @return Rules.IN_PROGRESS, CHECK, CHECKMATE or STALEMATE for the player to
+	 *         move
+	 */
+	public int getStatus() {
+		return status;
+	}
+}
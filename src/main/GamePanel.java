@@ -3,19 +3,36 @@ package main;
 import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.util.ArrayList;
-
+import java.awt.event.ActionEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.swing.AbstractAction;
+import javax.swing.JFileChooser;
 import javax.swing.JPanel;
-
-import piece.Bishop;
-import piece.King;
-import piece.Knight;
-import piece.Pawn;
+import javax.swing.KeyStroke;
+import javax.swing.filechooser.FileNameExtensionFilter;
+
+import engine.Tablebases;
+import game.PgnGame;
+import game.PgnWriter;
+import piece.Fen;
+import piece.Move;
 import piece.Piece;
-import piece.Queen;
-import piece.Rook;
+import piece.Position;
+import piece.Rules;
+import piece.SpriteAtlas;
 
 /**
  * Lead Author(s):Arturo Medina
@@ -45,126 +62,213 @@ public class GamePanel extends JPanel implements Runnable {
 	private static final int WINDOW_HEIGHT = 800;
 	// A GamePanel has-a FPS (frames per second target)
 	private static final int FPS = 60;
+	// A GamePanel has-a FRAME_NANOS (time between frame deadlines)
+	private static final long FRAME_NANOS = 1000000000L / FPS;
+	// A GamePanel has-a REPORT_NANOS (time between reports of late and dropped
+	// frames, printed only when there were any)
+	private static final long REPORT_NANOS = 10000000000L;
+	// A GamePanel has-a GAME_FILE_EXTENSION (of games saved with Ctrl+S)
+	public static final String GAME_FILE_EXTENSION = "chg";
+	// A GamePanel has-a STATUS_FONT (font of the game status text beside the board)
+	private static final Font STATUS_FONT = new Font(Font.SANS_SERIF, Font.BOLD, 22);
+	// A GamePanel has-a HIGHLIGHT_COMPOSITE (translucency of the target square
+	// highlight)
+	private static final AlphaComposite HIGHLIGHT_COMPOSITE = AlphaComposite.getInstance(AlphaComposite.SRC_OVER,
+			0.7f);
 	// A GamePanel has-a gameThread (thread executing the game loop)
-	private Thread gameThread;
+	private volatile Thread gameThread;
 	// A GamePanel has-a board (chessboard model and renderer)
 	private Board board = new Board();
-	// A GamePanel has-a mouseHandler (mouse event handler)
-	private Mouse mouseHandler = new Mouse();
+	// A GamePanel has-a mouseHandler (mouse event handler, waking the game loop)
+	private Mouse mouseHandler = new Mouse(this::wake);
+	// A GamePanel has-a inputPending (set by input the game loop has not
+	// handled yet) and frameStats (late and dropped frames of the game loop)
+	private volatile boolean inputPending;
+	private final FrameStats frameStats = new FrameStats();
+	// A GamePanel has-a shownPieces and shownStatus (piece codes and status text
+	// the screen shows, compared after every update to repaint only what changed)
+	private final int[] shownPieces = new int[64];
+	private String shownStatus;
 
 	// Piece collections
 	// A GamePanel has-a selectedPiece (currently selected chess piece)
 	private Piece selectedPiece;
-	// Stores the official game state - used for resetting when invalid moves occur
-	// A GamePanel has-a boardState
-	public static ArrayList<Piece> boardState = new ArrayList<>();
-	// Working copy that shows current visual state including drag operations
-	// A GamePanel has-a displayPieces
-	public static ArrayList<Piece> displayPieces = new ArrayList<>();
+	// A GamePanel has-a capturedPiece (piece the dragged piece would capture,
+	// hidden while dragging and removed only when the move is dropped)
+	private Piece capturedPiece;
+	// A GamePanel has-a pendingMove (encoded move the dragged piece would make
+	// if dropped on the square under the mouse)
+	private int pendingMove = Move.NONE;
+	// A GamePanel has-a game (the pieces, position, turn and status of the game
+	// being shown; nothing about it is static, so several games can coexist)
+	private volatile Game game;
+	// A GamePanel has-a tablebases (handed to every game shown; may be null)
+	private Tablebases tablebases;
 
 	// Player colors
 	// A GamePanel has-a WHITE constant (identifier for white pieces)
 	public static final int WHITE = 0;
 	// A GamePanel has-a BLACK constant (identifier for black pieces)
 	public static final int BLACK = 1;
-	// A GamePanel has-a currentPlayerTurn (tracks whose turn it is)
-	private int currentPlayerTurn = WHITE; // Start game with whites turn first
 
 	// Booleans
 	// A GamePanel has-a validMove (flag if current drag is a legal move)
 	boolean validMove;
 	// A GamePanel has-a validDestination (flag if current drop square is valid)
 	boolean validDestination;
+	// A GamePanel has-a saveRequested, exportRequested and loadRequested (set by
+	// the keyboard on the event thread, handled by the game loop so the game is
+	// not read or replaced while a move is applied)
+	private volatile boolean saveRequested;
+	private volatile boolean exportRequested;
+	private volatile Path loadRequested;
 
 	public GamePanel() {
+		this(new Game());
+	}
+
+	/**
+	 * @param game the game to show and play, e.g. one set up from FEN
+	 */
+	public GamePanel(Game game) {
 		setPreferredSize(new Dimension(WINDOW_WIDTH, WINDOW_HEIGHT));
 		setBackground(new Color(49, 46, 43));
 		addMouseMotionListener(mouseHandler);
 		addMouseListener(mouseHandler);
 
-		initializeChessPieces();
-		copyPieceState(boardState, displayPieces);
+		this.game = game;
+		markChangedAreas();
+
+		// Placeholders are drawn until the piece images are decoded
+		if (!SpriteAtlas.isLoaded()) {
+			SpriteAtlas.preloadInBackground(() -> {
+				StartupTimer.mark(StartupTimer.SPRITES_LOADED);
+				repaint();
+			});
+		}
 
+		// Ctrl+S saves the game, Ctrl+O loads a saved game, Ctrl+E exports PGN
+		bindKey(KeyEvent.VK_S, "save", () -> saveRequested = true);
+		bindKey(KeyEvent.VK_E, "exportPgn", () -> exportRequested = true);
+		bindKey(KeyEvent.VK_O, "load", () -> {
+			JFileChooser chooser = new JFileChooser(".");
+			chooser.setFileFilter(new FileNameExtensionFilter("Saved games", GAME_FILE_EXTENSION));
+			if (chooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
+				loadRequested = chooser.getSelectedFile().toPath();
+			}
+		});
+	}
+
+	private void bindKey(int keyCode, String name, Runnable action) {
+		getInputMap(WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(keyCode, InputEvent.CTRL_DOWN_MASK), name);
+		getActionMap().put(name, new AbstractAction() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void actionPerformed(ActionEvent event) {
+				action.run();
+				wake();
+			}
+		});
+	}
+
+	/**
+	 * @param tablebases shown beside the board for small endings, or null
+	 */
+	public void setTablebases(Tablebases tablebases) {
+		this.tablebases = tablebases;
+		game.setTablebases(tablebases);
+	}
+
+	/**
+	 * @return the game shown by this panel
+	 */
+	public Game getGame() {
+		return game;
+	}
+
+	/**
+	 * @return the late and dropped frames of the game loop
+	 */
+	public FrameStats getFrameStats() {
+		return frameStats;
 	}
 
 	public void startGameLoop() {
-		gameThread = new Thread(this);// instantiate the gameThread
+		gameThread = new Thread(this, "game-loop");// instantiate the gameThread
 		gameThread.start();// used to call the run method
 
 	}
 
+	public void stopGameLoop() {
+		Thread thread = gameThread;
+		gameThread = null;
+		LockSupport.unpark(thread);
+	}
+
+	/**
+	 * Tells the game loop there is input to handle; called on the event thread.
+	 */
+	private void wake() {
+		StartupTimer.mark(StartupTimer.FIRST_INPUT);
+		inputPending = true;
+		Thread thread = gameThread;
+		if (thread != null) {
+			LockSupport.unpark(thread);
+		}
+	}
+
+	/**
+	 * @return true when a frame could show something new: input arrived since the
+	 *         last frame, or a load waits for the held piece to be dropped
+	 */
+	private boolean needsFrame() {
+		return inputPending || loadRequested != null;
+	}
+
 	// Game loop implementation
-	// Maintains consistent 60 FPS for smooth animation
+	// Runs at most FPS frames a second on fixed deadlines, parking the thread
+	// between them, and parks until the next input while nothing changes
 	@Override
 	public void run() {
 
-		double drawInterval = 1000000000 / FPS;
-		double delta = 0;
-		long lastTime = System.nanoTime();
-		long currentTime;
+		long nextFrame = System.nanoTime();
+		long nextReport = nextFrame + REPORT_NANOS;
 
 		while (gameThread != null) { // keeps the game loop running while the program is running
 
-			// Add time since last frame
-			currentTime = System.nanoTime(); // check current nano sec time continuously
-			delta += (currentTime - lastTime) / drawInterval; // actual rate of time / by our desired rate of time
-			lastTime = currentTime; // update last time during this process
+			if (!needsFrame()) {
+				// Idle: sleep until wake() or stopGameLoop(); the frame that
+				// handles the input is due at once
+				LockSupport.park(this);
+				nextFrame = Math.max(nextFrame, System.nanoTime());
+				continue;
+			}
 
-			// When enough time has passed, update and render
-			if (delta >= 1) { // when we get our desired frame rate
-				update(); // Update game state
-				repaint(); // Rendering
-				delta--; // Reset delta
+			long now = System.nanoTime();
+			if (now < nextFrame) {
+				// parkNanos may return early (input, spurious wake-ups), so check
+				// the deadline again
+				LockSupport.parkNanos(this, nextFrame - now);
+				continue;
 			}
-		}
-	}
 
-	// Default position of our white and black teams
-	public void initializeChessPieces() {
-
-		// White Team
-		boardState.add(new Pawn(WHITE, 0, 6));
-		boardState.add(new Pawn(WHITE, 1, 6));
-		boardState.add(new Pawn(WHITE, 2, 6));
-		boardState.add(new Pawn(WHITE, 3, 6));
-		boardState.add(new Pawn(WHITE, 4, 6));
-		boardState.add(new Pawn(WHITE, 5, 6));
-		boardState.add(new Pawn(WHITE, 6, 6));
-		boardState.add(new Pawn(WHITE, 7, 6));
-		boardState.add(new Rook(WHITE, 0, 7));
-		boardState.add(new Rook(WHITE, 7, 7));
-		boardState.add(new Knight(WHITE, 1, 7));
-		boardState.add(new Knight(WHITE, 6, 7));
-		boardState.add(new Bishop(WHITE, 2, 7));
-		boardState.add(new Bishop(WHITE, 5, 7));
-		boardState.add(new Queen(WHITE, 3, 7));
-		boardState.add(new King(WHITE, 4, 7));
-
-		// Black Team
-		boardState.add(new Pawn(BLACK, 0, 1));
-		boardState.add(new Pawn(BLACK, 1, 1));
-		boardState.add(new Pawn(BLACK, 2, 1));
-		boardState.add(new Pawn(BLACK, 3, 1));
-		boardState.add(new Pawn(BLACK, 4, 1));
-		boardState.add(new Pawn(BLACK, 5, 1));
-		boardState.add(new Pawn(BLACK, 6, 1));
-		boardState.add(new Pawn(BLACK, 7, 1));
-		boardState.add(new Rook(BLACK, 0, 0));
-		boardState.add(new Rook(BLACK, 7, 0));
-		boardState.add(new Knight(BLACK, 1, 0));
-		boardState.add(new Knight(BLACK, 6, 0));
-		boardState.add(new Bishop(BLACK, 2, 0));
-		boardState.add(new Bishop(BLACK, 5, 0));
-		boardState.add(new Queen(BLACK, 3, 0));
-		boardState.add(new King(BLACK, 4, 0));
+			// Frame slots that passed entirely while the last frame ran are dropped
+			long late = now - nextFrame;
+			long dropped = late / FRAME_NANOS;
+			frameStats.record(late - dropped * FRAME_NANOS, dropped);
+			nextFrame += (dropped + 1) * FRAME_NANOS;
 
-	}
+			inputPending = false;
+			update(); // Update game state and repaint the areas it changed
 
-	public void copyPieceState(ArrayList<Piece> source, ArrayList<Piece> target) {
-		// Clears list to make room for copy
-		target.clear();
-		for (int i = 0; i < source.size(); i++) {// Deep copy
-			target.add(source.get(i));
+			if (now >= nextReport) {
+				if (frameStats.getLateFrames() > 0 || frameStats.getDroppedFrames() > 0) {
+					System.out.println("Frames: " + frameStats);
+				}
+				frameStats.reset();
+				nextReport = now + REPORT_NANOS;
+			}
 		}
 	}
 
@@ -172,9 +276,8 @@ public class GamePanel extends JPanel implements Runnable {
 		// Reset validation flags
 		validMove = false;
 		validDestination = false;
-
-		// Update display state to match current game state
-		copyPieceState(boardState, displayPieces);
+		capturedPiece = null;
+		pendingMove = Move.NONE;
 
 		// Update the dragged piece's position to follow the mouse
 		selectedPiece.setPixelX(mouseHandler.getPixelX() - Board.getHalfSquareSize());
@@ -183,13 +286,17 @@ public class GamePanel extends JPanel implements Runnable {
 		selectedPiece.setBoardRow(selectedPiece.convertYToRow(selectedPiece.getPixelY()));
 
 		// Check if current mouse position represents a valid move
-		if (selectedPiece.isLegalMove(selectedPiece.getBoardCol(), selectedPiece.getBoardRow())) {
+		int move = selectedPiece.findMove(game, selectedPiece.getBoardCol(), selectedPiece.getBoardRow());
+		if (move != Move.NONE) {
 			validMove = true;
-
-			// Handle potential piece capture
-			if (selectedPiece.getCollidingPiece() != null) {
-				// Temporarily remove the piece for visual feedback
-				displayPieces.remove(selectedPiece.getCollidingPiece().getIndex());
+			pendingMove = move;
+
+			// Hide a piece that would be captured instead of removing it from the
+			// list, so nothing has to be restored if the move is not dropped here
+			if (Move.isCapture(move)) {
+				int capturedSquare = Move.capturedSquare(move);
+				capturedPiece = selectedPiece.getCollidingPiece(game, Position.colOf(capturedSquare),
+						Position.rowOf(capturedSquare));
 			}
 			validDestination = true;
 		}
@@ -197,24 +304,30 @@ public class GamePanel extends JPanel implements Runnable {
 
 	/**
 	 * Main game update method - called every frame. Handles mouse interactions,
-	 * piece selection, dragging, and move validation.
+	 * piece selection, dragging, and move validation, then repaints only the
+	 * areas that look different afterwards.
 	 */
 	public void update() {
 
+		// What the held piece covers now is repainted whatever happens to it
+		markDragAreas();
+
+		handleFileRequests();
+
 		// If mouse button is pressed
 		if (mouseHandler.isPressed()) {
-			// If you are not selecting a piece
-			if (selectedPiece == null) {
+			// If you are not selecting a piece (and the game has not ended)
+			if (selectedPiece == null && !isGameOver()) {
 				// Check list of displayPieces
-				for (Piece piece : displayPieces) {
+				for (Piece piece : game.getDisplayPieces()) {
 					// If the mouse is on an ally piece, pick it up as the activePiece
-					if (piece.getPieceColor() == currentPlayerTurn
+					if (piece.getPieceColor() == game.getCurrentPlayerTurn()
 							&& piece.getBoardCol() == mouseHandler.getPixelX() / Board.getSquareSize()
 							&& piece.getBoardRow() == mouseHandler.getPixelY() / Board.getSquareSize()) {
 						selectedPiece = piece;
 					}
 				}
-			} else {
+			} else if (selectedPiece != null) {
 				// If player is holding a piece
 				handlePieceDragging();
 			}
@@ -224,63 +337,203 @@ public class GamePanel extends JPanel implements Runnable {
 		if (mouseHandler.isPressed() == false) {
 			// If no piece is selected
 			if (selectedPiece != null) {
-				// If destination is valid
-				if (validDestination) {
-
-					// Pawn move handling: update, en passant capture, and promotion
-					if (selectedPiece instanceof Pawn) {
-						Pawn pawn = (Pawn) selectedPiece;
-						int origCol = pawn.getPreviousCol();
-						int origRow = pawn.getPreviousRow();
-						pawn.updatePosition();
-						pawn.enPassant(displayPieces, origCol, origRow);
-						if (pawn.isEnPassantEligible())
-							clearEnPassantEligibilityExcept(pawn);
-						else
-							clearEnPassantEligibilityForAll();
-						if (pawn.shouldPromote()) {
-							pawn.promote(displayPieces);
-						}
-					} else {
-						selectedPiece.updatePosition();
-						clearEnPassantEligibilityForAll();
-					}
-
-					// Update the piece list in case a piece has been captured and removed during
-					// the simulation, including promotion
-					copyPieceState(displayPieces, boardState);
+				// If destination is valid (a piece clicked without a drag has no move)
+				if (validDestination && pendingMove != Move.NONE) {
 
-					// Switch the turn to the other player after a valid move
-					currentPlayerTurn = (currentPlayerTurn == WHITE) ? BLACK : WHITE;
+					// Captures, castling, en passant, promotion and the turn change
+					game.applyMove(selectedPiece, pendingMove);
 
 				} else {
 
-					copyPieceState(boardState, displayPieces);
 					selectedPiece.resetPosition();
 
 				}
 				selectedPiece = null;
+				capturedPiece = null;
+				pendingMove = Move.NONE;
+				validMove = false;
+				validDestination = false;
+			}
+		}
+
+		markDragAreas();
+		markChangedAreas();
+	}
+
+	// ====== DIRTY AREAS ======
+	// A frame repaints only these areas; Swing clips paintComponent to them
+
+	/**
+	 * Repaints the squares the held piece covers: its origin square, the sprite
+	 * under the mouse, the highlighted target square and the square of the piece
+	 * it would capture.
+	 */
+	private void markDragAreas() {
+		if (selectedPiece == null) {
+			return;
+		}
+		repaintSquare(selectedPiece.getPreviousCol(), selectedPiece.getPreviousRow());
+		repaint(selectedPiece.getPixelX(), selectedPiece.getPixelY(), Board.getSquareSize(), Board.getSquareSize());
+		if (validMove) {
+			repaintSquare(selectedPiece.getBoardCol(), selectedPiece.getBoardRow());
+		}
+		if (capturedPiece != null) {
+			repaintSquare(capturedPiece.getBoardCol(), capturedPiece.getBoardRow());
+		}
+	}
+
+	/**
+	 * Repaints the squares whose piece changed since the last frame (both ends
+	 * of a move, the castling rook, a pawn taken en passant, a promotion or a
+	 * loaded game) and the status text when it changed.
+	 */
+	private void markChangedAreas() {
+		Position position = game.getPosition();
+		for (int square = 0; square < 64; square++) {
+			int piece = position.getPiece(square);
+			if (piece != shownPieces[square]) {
+				shownPieces[square] = piece;
+				repaintSquare(Position.colOf(square), Position.rowOf(square));
+			}
+		}
+		String status = getStatusText() + "\n" + getTablebaseText();
+		if (!status.equals(shownStatus)) {
+			shownStatus = status;
+			repaint(getStatusX(), 0, WINDOW_WIDTH - getStatusX(), WINDOW_HEIGHT);
+		}
+	}
+
+	private void repaintSquare(int col, int row) {
+		repaint(col * Board.getSquareSize(), row * Board.getSquareSize(), Board.getSquareSize(),
+				Board.getSquareSize());
+	}
+
+	/**
+	 * @return the left edge of the status text beside the board
+	 */
+	private static int getStatusX() {
+		return Board.getSquareSize() * 8;
+	}
+
+	/**
+	 * @return true once the player to move is checkmated or stalemated
+	 */
+	public boolean isGameOver() {
+		return game.isOver();
+	}
+
+	/**
+	 * Saves, exports or loads the game when the keyboard asked for it, between
+	 * moves.
+	 */
+	private void handleFileRequests() {
+		try {
+			if (saveRequested) {
+				saveRequested = false;
+				Path file = Paths.get("game-" + timestamp() + "." + GAME_FILE_EXTENSION);
+				game.save(file);
+				System.out.println("Saved " + file.toAbsolutePath());
+			}
+			if (exportRequested) {
+				exportRequested = false;
+				Path file = Paths.get("game-" + timestamp() + ".pgn");
+				savePgn(file);
+				System.out.println("Exported " + file.toAbsolutePath());
 			}
+			Path load = loadRequested;
+			if (load != null && selectedPiece == null) {
+				loadRequested = null;
+				Game loaded = Game.load(load);
+				loaded.setTablebases(tablebases);
+				game = loaded;
+				System.out.println("Loaded " + load.toAbsolutePath());
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
 		}
+	}
 
+	// Names save and export files; only called when one was requested
+	private static String timestamp() {
+		return new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
 	}
 
-	/** Clears en passant eligibility on all pawns except the provided pawn. */
-	public void clearEnPassantEligibilityExcept(Pawn pawn) {
-		for (Piece other : displayPieces) {
-			if (other instanceof Pawn && other != pawn)
-				((Pawn) other).clearEnPassantEligible();
+	/**
+	 * Writes the game played so far to a PGN file.
+	 */
+	public void savePgn(Path file) throws IOException {
+		PgnGame pgn = new PgnGame();
+		pgn.setTag("Event", "Casual game");
+		pgn.setTag("Date", new SimpleDateFormat("yyyy.MM.dd").format(new Date()));
+		pgn.setTag("White", "White");
+		pgn.setTag("Black", "Black");
+		if (!game.getStartFen().equals(Fen.START_POSITION)) {
+			pgn.setTag("SetUp", "1");
+			pgn.setTag("FEN", game.getStartFen());
+		}
+		for (int move : game.getMoves()) {
+			pgn.addMove(move);
+		}
+		if (game.getStatus() == Rules.CHECKMATE) {
+			pgn.setResult(game.getCurrentPlayerTurn() == WHITE ? PgnGame.BLACK_WINS : PgnGame.WHITE_WINS);
+		} else if (game.getStatus() == Rules.STALEMATE) {
+			pgn.setResult(PgnGame.DRAW);
+		}
+		try (PgnWriter writer = new PgnWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+			writer.write(pgn);
 		}
 	}
 
-	/** Clears en passant eligibility on all pawns. */
-	public void clearEnPassantEligibilityForAll() {
-		for (Piece other : displayPieces) {
-			if (other instanceof Pawn)
-				((Pawn) other).clearEnPassantEligible();
+	/**
+	 * @return the text shown beside the board for the current game status
+	 */
+	public String getStatusText() {
+		String player = game.getCurrentPlayerTurn() == WHITE ? "White" : "Black";
+		String opponent = game.getCurrentPlayerTurn() == WHITE ? "Black" : "White";
+		switch (game.getStatus()) {
+		case Rules.CHECK:
+			return player + " is in check";
+		case Rules.CHECKMATE:
+			return "Checkmate! " + opponent + " wins";
+		case Rules.STALEMATE:
+			return "Stalemate! Draw";
+		default:
+			return player + " to move";
 		}
 	}
 
+	/**
+	 * @return the tablebase verdict on the position, or null when there is none
+	 */
+	public String getTablebaseText() {
+		int result = game.getTablebaseResult();
+		if (result == Tablebases.NOT_FOUND || game.isOver()) {
+			return null;
+		}
+		if (result == 0) {
+			return "Tablebase: draw";
+		}
+		boolean whiteWins = Tablebases.isWin(result) == (game.getCurrentPlayerTurn() == WHITE);
+		// A win takes an odd number of plies, a loss an even one
+		int moves = (Tablebases.plies(result) + 1) / 2;
+		return "Tablebase: " + (whiteWins ? "White" : "Black") + " mates in " + moves;
+	}
+
+	/**
+	 * Draws the piece, or a disc of its color while the images are still being
+	 * decoded.
+	 */
+	private static void drawPiece(Graphics2D chessGraphics, Piece piece, boolean spritesLoaded) {
+		if (spritesLoaded) {
+			piece.draw(chessGraphics);
+			return;
+		}
+		int inset = Board.getSquareSize() / 4;
+		chessGraphics.setColor(piece.getPieceColor() == WHITE ? Color.WHITE : Color.BLACK);
+		chessGraphics.fillOval(piece.getPixelX() + inset, piece.getPixelY() + inset,
+				Board.getSquareSize() - 2 * inset, Board.getSquareSize() - 2 * inset);
+	}
+
 	// needed to implement graphics
 	public void paintComponent(Graphics graphics) {
 		super.paintComponent(graphics);
@@ -290,32 +543,49 @@ public class GamePanel extends JPanel implements Runnable {
 		// BOARD
 		board.draw(chessGraphics);
 
-		// PIECES
-		for (Piece piece : displayPieces) {
-			piece.draw(chessGraphics);
+		// PIECES (only those inside the repainted area)
+		boolean spritesLoaded = SpriteAtlas.isLoaded();
+		for (Piece piece : game.getDisplayPieces()) {
+			if (piece != capturedPiece && chessGraphics.hitClip(piece.getPixelX(), piece.getPixelY(),
+					Board.getSquareSize(), Board.getSquareSize())) {
+				drawPiece(chessGraphics, piece, spritesLoaded);
+			}
 		}
 
 		if (selectedPiece != null) {
 			if (validMove) {
 				// Only draw the translucent highlight when the mouse is being pressed
 				if (mouseHandler.isPressed()) {
-					// Calculate which square the mouse is over
-					int boardCol = mouseHandler.getPixelX() / Board.getSquareSize();
-					int boardRow = mouseHandler.getPixelY() / Board.getSquareSize();
+					// The square under the mouse, as of the last update
+					int boardCol = selectedPiece.getBoardCol();
+					int boardRow = selectedPiece.getBoardRow();
 
 					// Draw translucent highlight for the square under the mouse
 					chessGraphics.setColor(Color.WHITE);
-					chessGraphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.7f));
+					chessGraphics.setComposite(HIGHLIGHT_COMPOSITE);
 					chessGraphics.fillRect(boardCol * Board.getSquareSize(), boardRow * Board.getSquareSize(),
 							Board.getSquareSize(), Board.getSquareSize());
-					chessGraphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1f));
+					chessGraphics.setComposite(AlphaComposite.SrcOver);
 				}
 			}
 
 			// Draw the piece being moved
-			selectedPiece.draw(chessGraphics);
+			drawPiece(chessGraphics, selectedPiece, spritesLoaded);
+
+		}
 
+		// STATUS (beside the board)
+		if (chessGraphics.hitClip(getStatusX(), 0, WINDOW_WIDTH - getStatusX(), WINDOW_HEIGHT)) {
+			chessGraphics.setFont(STATUS_FONT);
+			chessGraphics.setColor(Color.WHITE);
+			chessGraphics.drawString(getStatusText(), getStatusX() + 20, WINDOW_HEIGHT / 2);
+			String tablebaseText = getTablebaseText();
+			if (tablebaseText != null) {
+				chessGraphics.drawString(tablebaseText, getStatusX() + 20, WINDOW_HEIGHT / 2 + 40);
+			}
 		}
+
+		StartupTimer.mark(StartupTimer.FIRST_PAINT);
 	}
 
 }
@@ -1,6 +1,19 @@
 package main;
 
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
+
+import engine.Tablebases;
+import engine.Uci;
+import piece.Rules;
+import piece.SpriteAtlas;
 
 /**
  * Lead Author(s):Arturo Medina
@@ -15,21 +28,83 @@ import javax.swing.JFrame;
  **/
 public class Main {
 
-	public static void main(String[] args) {
+	// Directory searched for endgame tablebases
+	private static final String TABLEBASE_DIRECTORY = "tablebases";
+
+	public static void main(String[] args) throws IOException {
+		StartupTimer.mark(StartupTimer.MAIN);
+
+		// "uci" runs the engine over standard input/output instead of the window
+		if (args.length > 0 && args[0].equals("uci")) {
+			Uci.main(args);
+			return;
+		}
+		// "cds-training" runs the startup path once without a window
+		if (args.length > 0 && args[0].equals("cds-training")) {
+			trainStartup();
+			return;
+		}
+
+		// A saved game file or a FEN argument sets up that game instead of the
+		// starting position; this and the tablebases are read on the main thread
+		// while the event thread builds the window
+		Game game;
+		if (args.length == 1 && args[0].endsWith("." + GamePanel.GAME_FILE_EXTENSION)) {
+			game = Game.load(Paths.get(args[0]));
+		} else if (args.length > 0) {
+			game = new Game(String.join(" ", args));
+		} else {
+			game = new Game();
+		}
+		// Endgame tablebases made by engine.TablebaseGenerator, when there are some
+		Path tablebaseDirectory = Paths.get(TABLEBASE_DIRECTORY);
+		Tablebases tablebases = Files.isDirectory(tablebaseDirectory) ? Tablebases.open(tablebaseDirectory) : null;
 
+		SwingUtilities.invokeLater(() -> showWindow(game, tablebases));
+	}
+
+	/**
+	 * Builds and shows the window; runs on the event thread. The panel loads the
+	 * piece images in the background and paints placeholders until then.
+	 */
+	private static void showWindow(Game game, Tablebases tablebases) {
 		JFrame window = new JFrame("Chess");// create new JFrame to be a viewing window for the user
 		window.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);// needed to close the window properly
 		window.setResizable(false);// user cannot resize window to simplify coding
 
 		// add gamePanel to the window
-		GamePanel gamePanel = new GamePanel();
+		GamePanel gamePanel = new GamePanel(game);
+		if (tablebases != null) {
+			gamePanel.setTablebases(tablebases);
+		}
 		window.add(gamePanel); // everything drawed to the gamePanel will be visible in the window
 		window.pack();// window adjusts size to gamePanel size
 
 		window.setLocationRelativeTo(null);// center the window position more convenient for the user
 		window.setVisible(true); // user can now see
+		StartupTimer.mark(StartupTimer.WINDOW_SHOWN);
 
 		gamePanel.startGameLoop();
 	}
 
+	/**
+	 * Goes through startup without a screen: sets up a game and panel, decodes
+	 * the images, paints a frame off screen and plays a move. The build runs
+	 * this to record the classes startup loads in a class data sharing archive
+	 * (see app/pom.xml and chess.sh).
+	 */
+	private static void trainStartup() {
+		GamePanel gamePanel = new GamePanel(new Game());
+		SpriteAtlas.preload();
+		gamePanel.setSize(gamePanel.getPreferredSize());
+		BufferedImage frame = new BufferedImage(gamePanel.getWidth(), gamePanel.getHeight(),
+				BufferedImage.TYPE_INT_RGB);
+		Graphics2D frameGraphics = frame.createGraphics();
+		gamePanel.paintComponent(frameGraphics);
+		gamePanel.getGame().play(Rules.parseUci(gamePanel.getGame().getPosition(), "e2e4"));
+		gamePanel.update();
+		gamePanel.paintComponent(frameGraphics);
+		frameGraphics.dispose();
+	}
+
 }
@@ -16,27 +16,47 @@ import java.awt.event.MouseEvent;
  **/
 public class Mouse extends MouseAdapter {
 
-	private int pixelX, pixelY;
-	private boolean pressed;
+	// Written on the event thread and read by the game loop
+	private volatile int pixelX, pixelY;
+	private volatile boolean pressed;
+	// A Mouse has-a onInput (run after every press, drag and release, e.g.
+	// to wake the game loop)
+	private final Runnable onInput;
+
+	public Mouse() {
+		this(() -> {
+		});
+	}
+
+	/**
+	 * @param onInput run on the event thread after every press, drag and release
+	 */
+	public Mouse(Runnable onInput) {
+		this.onInput = onInput;
+	}
 
 	@Override
 	public void mousePressed(MouseEvent e) {
 		pressed = true;
+		onInput.run();
 	}
 
 	@Override
 	public void mouseReleased(MouseEvent e) {
 		pressed = false;
+		onInput.run();
 	}
 
 	@Override
 	public void mouseDragged(MouseEvent e) {
 		pixelX = e.getX();
 		pixelY = e.getY();
+		onInput.run();
 	}
 
 	@Override
 	public void mouseMoved(MouseEvent e) {
+		// Nothing is held, so there is nothing to redraw until the next press
 		pixelX = e.getX();
 		pixelY = e.getY();
 	}
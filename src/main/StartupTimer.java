@@ -0,0 +1,49 @@
+package main;
+
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Prints how long after the JVM started each startup milestone was reached
+ * (main entered, window shown, first paint, sprites loaded, first input),
+ * when the program runs with -Dchess.startupTiming=true. Each milestone is
+ * printed once; marking is free when timing is off.
+ */
+public final class StartupTimer {
+
+	// Milestones printed by the window
+	public static final String MAIN = "main";
+	public static final String WINDOW_SHOWN = "window shown";
+	public static final String FIRST_PAINT = "first paint";
+	public static final String SPRITES_LOADED = "sprites loaded";
+	public static final String FIRST_INPUT = "first input";
+
+	private static final boolean ENABLED = Boolean.getBoolean("chess.startupTiming");
+	// Time the JVM started (java.management is only loaded when timing is on)
+	private static final long START_MILLIS = ENABLED ? ManagementFactory.getRuntimeMXBean().getStartTime() : 0;
+	private static final Set<String> REACHED = ConcurrentHashMap.newKeySet();
+
+	private StartupTimer() {
+	}
+
+	/**
+	 * Prints the time since JVM start the first time a milestone is reached.
+	 */
+	public static void mark(String milestone) {
+		if (ENABLED && REACHED.add(milestone)) {
+			System.out.println("Startup: " + milestone + " at " + (System.currentTimeMillis() - START_MILLIS) + " ms");
+		}
+	}
+}
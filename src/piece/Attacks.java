@@ -0,0 +1,288 @@
+package piece;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Precomputed attack tables for every piece type. Knight, king and pawn attacks
+ * are one lookup per square. Rook and bishop attacks use magic bitboards: the
+ * blockers on a square's rays are multiplied by a magic number and the top
+ * bits of the product index a table holding the attack set for exactly that
+ * blocker pattern, so a slider's reachable squares are a single lookup no
+ * matter how far it slides.
+ *
+ * The magic numbers below were found once by random search with a fixed seed;
+ * they map every blocker subset of their square without a destructive
+ * collision. All tables are built once when the class is first used. Squares use the
+ * Position numbering (row * 8 + col, row 0 at the top).
+ */
+public final class Attacks {
+
+	// Direction steps as {colStep, rowStep}
+	private static final int[][] ROOK_DIRECTIONS = { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
+	private static final int[][] BISHOP_DIRECTIONS = { { 1, 1 }, { 1, -1 }, { -1, 1 }, { -1, -1 } };
+	private static final int[][] KNIGHT_JUMPS = { { 1, 2 }, { 2, 1 }, { 2, -1 }, { 1, -2 }, { -1, -2 }, { -2, -1 },
+			{ -2, 1 }, { -1, 2 } };
+
+	// Leaper tables
+	private static final long[] KNIGHT_ATTACKS = new long[64];
+	private static final long[] KING_ATTACKS = new long[64];
+	// Pawn captures indexed by [color][square]
+	private static final long[][] PAWN_ATTACKS = new long[2][64];
+
+	// Magic bitboard tables for rooks
+	private static final long[] ROOK_MASKS = new long[64];
+	private static final long[] ROOK_MAGICS = {
+			0x008000908064C000L, 0x0040200040001000L, 0x0180100080A0010AL, 0x8880041000800800L,
+			0x1200100201200804L, 0x0200020004011008L, 0x2180010000800600L, 0x0200005088210204L,
+			0x0000800080204001L, 0x1000804000802001L, 0x8240801000200080L, 0x8611001004200900L,
+			0x008180800C001800L, 0x0100800200800400L, 0x0A02000102000408L, 0x8020802300104280L,
+			0x0080004000402000L, 0xE010104000402000L, 0x0800808010002000L, 0xA280210008100100L,
+			0x0001818014000800L, 0xA002010100080400L, 0x0008040088020130L, 0x0001020004048845L,
+			0x0081826280004004L, 0x2020810900284000L, 0x0200100080802000L, 0x0200080080100080L,
+			0x8083080100100500L, 0x4406000901000400L, 0x0005020080800100L, 0x0090204200008114L,
+			0x0010400094800420L, 0x0900804000802002L, 0x0201001841002000L, 0x4100080080801000L,
+			0x4540040080800800L, 0x0000800400800200L, 0x9281800100808200L, 0x8004048102000854L,
+			0x4420802040008006L, 0x0880500020004002L, 0x0801200241050010L, 0x8400080010008080L,
+			0x0008000500090010L, 0x0082009084020008L, 0x4012000108020004L, 0x9000104D08860004L,
+			0x2004204114800100L, 0x0148802112400300L, 0x0202842000100880L, 0x001B080080900080L,
+			0x001A002008100600L, 0x0004008004020080L, 0x5181000600040300L, 0x0000044401128A00L,
+			0x8044110480002441L, 0x1023012082044112L, 0x00804080200A0012L, 0x000420310A004A42L,
+			0x0023001004020801L, 0x0882001008040102L, 0x000230088118020CL, 0x0000019025040042L };
+	private static final int[] ROOK_SHIFTS = new int[64];
+	private static final int[] ROOK_OFFSETS = new int[64];
+	private static final long[] ROOK_TABLE;
+
+	// Magic bitboard tables for bishops
+	private static final long[] BISHOP_MASKS = new long[64];
+	private static final long[] BISHOP_MAGICS = {
+			0x1010220204082A00L, 0x80E0020202002804L, 0x2008480104200020L, 0x000220920280002DL,
+			0x32040421000B0284L, 0x1002080404000400L, 0x0004160892080040L, 0x2203024206204201L,
+			0x0002404264010200L, 0x1120908408428124L, 0xB100424403002280L, 0x240008060440C288L,
+			0x2040040420490400L, 0x0100620210040022L, 0x0400084104202028L, 0x0010050080908820L,
+			0x0C90A04490824802L, 0x000200A008210130L, 0x0C08001000204010L, 0x0008000186014480L,
+			0x0601044820080021L, 0x0002000101013100L, 0x1400A08108080204L, 0x0250401104485410L,
+			0x4820240810142843L, 0x0009142A20182200L, 0x0848140048440020L, 0x2020120000400440L,
+			0x0108840200802003L, 0x0009070082009492L, 0x020C0C0038424245L, 0xCA44005808210410L,
+			0x8011212000500404L, 0x2028840510101008L, 0x0004042A00041400L, 0x0624020080980080L,
+			0x1820410040840040L, 0x2201004202050100L, 0x402A088A24040224L, 0x0242061040002400L,
+			0x90020202400821A0L, 0x00C9009004E01002L, 0x58C2060202023100L, 0x0000012214040800L,
+			0x0210846810100200L, 0x0004208081010200L, 0x01A4108404442100L, 0x8054082C80280106L,
+			0x0004144904104208L, 0x00324C0A11104000L, 0x1000020231040100L, 0x2080001042020004L,
+			0x0544021020288104L, 0x1103501408083020L, 0x4010451004960002L, 0x003010091C44902CL,
+			0x0102402884202000L, 0x0480804C00841086L, 0x04602C8602210400L, 0x0000004000420200L,
+			0x0040000020442C18L, 0x4483804089094100L, 0x80000B0248020400L, 0x0045010808008680L };
+	private static final int[] BISHOP_SHIFTS = new int[64];
+	private static final int[] BISHOP_OFFSETS = new int[64];
+	private static final long[] BISHOP_TABLE;
+
+	// Squares strictly between two squares on a shared line, and the full line
+	// through both squares (0 if they do not share a rank, file or diagonal)
+	private static final long[][] BETWEEN = new long[64][64];
+	private static final long[][] LINE = new long[64][64];
+
+	static {
+		for (int square = 0; square < 64; square++) {
+			KNIGHT_ATTACKS[square] = leaperAttacks(square, KNIGHT_JUMPS);
+			KING_ATTACKS[square] = slidingAttacks(square, -1L, ROOK_DIRECTIONS, 1)
+					| slidingAttacks(square, -1L, BISHOP_DIRECTIONS, 1);
+			int col = Position.colOf(square);
+			int row = Position.rowOf(square);
+			// White pawns move toward row 0, black pawns toward row 7
+			PAWN_ATTACKS[Position.WHITE][square] = bitIfOnBoard(col - 1, row - 1) | bitIfOnBoard(col + 1, row - 1);
+			PAWN_ATTACKS[Position.BLACK][square] = bitIfOnBoard(col - 1, row + 1) | bitIfOnBoard(col + 1, row + 1);
+		}
+
+		ROOK_TABLE = new long[buildMasks(ROOK_MASKS, ROOK_SHIFTS, ROOK_OFFSETS, ROOK_DIRECTIONS)];
+		BISHOP_TABLE = new long[buildMasks(BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_OFFSETS, BISHOP_DIRECTIONS)];
+		for (int square = 0; square < 64; square++) {
+			fillTable(square, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_OFFSETS, ROOK_TABLE, ROOK_DIRECTIONS);
+			fillTable(square, BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_OFFSETS, BISHOP_TABLE,
+					BISHOP_DIRECTIONS);
+		}
+
+		for (int from = 0; from < 64; from++) {
+			for (int to = 0; to < 64; to++) {
+				if (from == to) {
+					continue;
+				}
+				long toBit = Position.bit(to);
+				if ((rookAttacks(from, 0L) & toBit) != 0) {
+					BETWEEN[from][to] = rookAttacks(from, toBit) & rookAttacks(to, Position.bit(from));
+					LINE[from][to] = (rookAttacks(from, 0L) & rookAttacks(to, 0L)) | Position.bit(from) | toBit;
+				} else if ((bishopAttacks(from, 0L) & toBit) != 0) {
+					BETWEEN[from][to] = bishopAttacks(from, toBit) & bishopAttacks(to, Position.bit(from));
+					LINE[from][to] = (bishopAttacks(from, 0L) & bishopAttacks(to, 0L)) | Position.bit(from) | toBit;
+				}
+			}
+		}
+	}
+
+	private Attacks() {
+	}
+
+	// ====== LOOKUPS ======
+
+	public static long knightAttacks(int square) {
+		return KNIGHT_ATTACKS[square];
+	}
+
+	public static long kingAttacks(int square) {
+		return KING_ATTACKS[square];
+	}
+
+	/**
+	 * @return the squares a pawn of the given color on the square can capture on
+	 */
+	public static long pawnAttacks(int color, int square) {
+		return PAWN_ATTACKS[color][square];
+	}
+
+	/**
+	 * @param square   the rook's square
+	 * @param occupied every occupied square on the board
+	 * @return every square the rook attacks, including the first blocker on each
+	 *         ray
+	 */
+	public static long rookAttacks(int square, long occupied) {
+		return ROOK_TABLE[ROOK_OFFSETS[square]
+				+ (int) (((occupied & ROOK_MASKS[square]) * ROOK_MAGICS[square]) >>> ROOK_SHIFTS[square])];
+	}
+
+	/**
+	 * @param square   the bishop's square
+	 * @param occupied every occupied square on the board
+	 * @return every square the bishop attacks, including the first blocker on
+	 *         each ray
+	 */
+	public static long bishopAttacks(int square, long occupied) {
+		return BISHOP_TABLE[BISHOP_OFFSETS[square]
+				+ (int) (((occupied & BISHOP_MASKS[square]) * BISHOP_MAGICS[square]) >>> BISHOP_SHIFTS[square])];
+	}
+
+	public static long queenAttacks(int square, long occupied) {
+		return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+	}
+
+	/**
+	 * @return the attacks of a piece of the given type and color on the square
+	 */
+	public static long attacks(int type, int color, int square, long occupied) {
+		switch (type) {
+		case Position.PAWN:
+			return pawnAttacks(color, square);
+		case Position.KNIGHT:
+			return knightAttacks(square);
+		case Position.BISHOP:
+			return bishopAttacks(square, occupied);
+		case Position.ROOK:
+			return rookAttacks(square, occupied);
+		case Position.QUEEN:
+			return queenAttacks(square, occupied);
+		default:
+			return kingAttacks(square);
+		}
+	}
+
+	/**
+	 * @return the squares strictly between two squares that share a rank, file or
+	 *         diagonal, or 0 if they do not
+	 */
+	public static long between(int from, int to) {
+		return BETWEEN[from][to];
+	}
+
+	/**
+	 * @return the whole rank, file or diagonal running through both squares, or 0
+	 *         if they do not share one
+	 */
+	public static long line(int from, int to) {
+		return LINE[from][to];
+	}
+
+	// ====== TABLE CONSTRUCTION ======
+
+	private static long bitIfOnBoard(int col, int row) {
+		return Position.isWithinBoard(col, row) ? Position.bit(Position.square(col, row)) : 0L;
+	}
+
+	private static long leaperAttacks(int square, int[][] jumps) {
+		long attacks = 0L;
+		for (int[] jump : jumps) {
+			attacks |= bitIfOnBoard(Position.colOf(square) + jump[0], Position.rowOf(square) + jump[1]);
+		}
+		return attacks;
+	}
+
+	/**
+	 * Walks each direction from the square until it leaves the board, passes
+	 * maxSteps squares or hits an occupied square (which is included).
+	 */
+	private static long slidingAttacks(int square, long occupied, int[][] directions, int maxSteps) {
+		long attacks = 0L;
+		for (int[] direction : directions) {
+			int col = Position.colOf(square) + direction[0];
+			int row = Position.rowOf(square) + direction[1];
+			for (int step = 0; step < maxSteps && Position.isWithinBoard(col, row); step++) {
+				long squareBit = Position.bit(Position.square(col, row));
+				attacks |= squareBit;
+				if ((occupied & squareBit) != 0) {
+					break;
+				}
+				col += direction[0];
+				row += direction[1];
+			}
+		}
+		return attacks;
+	}
+
+	/**
+	 * Fills in the relevant-blocker mask, shift and table offset for every square
+	 * and returns the total table size. The last square of each ray is left out of
+	 * the mask because a piece there never blocks anything further.
+	 */
+	private static int buildMasks(long[] masks, int[] shifts, int[] offsets, int[][] directions) {
+		int size = 0;
+		for (int square = 0; square < 64; square++) {
+			long mask = 0L;
+			for (int[] direction : directions) {
+				int col = Position.colOf(square) + direction[0];
+				int row = Position.rowOf(square) + direction[1];
+				while (Position.isWithinBoard(col + direction[0], row + direction[1])) {
+					mask |= Position.bit(Position.square(col, row));
+					col += direction[0];
+					row += direction[1];
+				}
+			}
+			masks[square] = mask;
+			shifts[square] = 64 - Long.bitCount(mask);
+			offsets[square] = size;
+			size += 1 << Long.bitCount(mask);
+		}
+		return size;
+	}
+
+	/**
+	 * Fills one square's part of a slider table by enumerating every subset of
+	 * the square's blocker mask (carry-rippler trick) and storing the attack set
+	 * at the slot its magic product maps to.
+	 */
+	private static void fillTable(int square, long[] masks, long[] magics, int[] shifts, int[] offsets, long[] table,
+			int[][] directions) {
+		long mask = masks[square];
+		long subset = 0L;
+		do {
+			int slot = (int) ((subset * magics[square]) >>> shifts[square]);
+			table[offsets[square] + slot] = slidingAttacks(square, subset, directions, 8);
+			subset = (subset - mask) & mask;
+		} while (subset != 0L);
+	}
+}
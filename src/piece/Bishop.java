@@ -15,17 +15,10 @@ public class Bishop extends Piece {
 
 	public Bishop(int color, int col, int row) {
 		super(color, col, row);
-		// Set different images for white and black
-		if (isWhite(color)) {
-			setPieceImage(getPieceImage("/piece/w-bishop"));
-		} else {
-			setPieceImage(getPieceImage("/piece/b-bishop"));
-		}
-
 	}
 
 	@Override
-	public boolean isLegalMove(int targetColumn, int targetRow) {
-		return isDiagonalPathClear(targetColumn, targetRow) && isDestinationValid(targetColumn, targetRow);
+	public int getPieceType() {
+		return Position.BISHOP;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,226 @@
+package piece;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Reads and writes positions in Forsyth-Edwards Notation (FEN), e.g.
+ * "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1".
+ *
+ * FEN lists ranks from 8 down to 1, which is the same top-to-bottom order as
+ * Position rows, so the first rank in the string fills row 0.
+ */
+public final class Fen {
+
+	// The standard starting position
+	public static final String START_POSITION = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+	// Piece letters in Position type order
+	private static final String PIECE_LETTERS = "pnbrqk";
+	// Rows 0 and 7, where no pawn can stand
+	private static final long BACK_RANKS = 0xFFL | 0xFFL << 56;
+
+	private Fen() {
+	}
+
+	/**
+	 * @return a new Position set up from the FEN string
+	 * @throws IllegalArgumentException if the string is not valid FEN
+	 */
+	public static Position parse(String fen) {
+		Position position = new Position();
+		parse(fen, position);
+		return position;
+	}
+
+	/**
+	 * Sets up an existing Position from a FEN string. The move clock fields are
+	 * optional and default to 0 and 1; the halfmove clock cannot be negative
+	 * nor the fullmove number below 1. An en passant square is kept only when a
+	 * pawn can capture there, as after Position.makeMove.
+	 *
+	 * @throws IllegalArgumentException if the string is not valid FEN or the
+	 *                                  position cannot be played: not exactly
+	 *                                  one king per side, a pawn on the first
+	 *                                  or last rank, the side not to move in
+	 *                                  check, or an en passant square without
+	 *                                  the pawn that skipped it
+	 */
+	public static void parse(String fen, Position position) {
+		String[] fields = fen.trim().split("\\s+");
+		if (fields.length < 4) {
+			throw new IllegalArgumentException("FEN needs at least 4 fields: " + fen);
+		}
+		position.clear();
+
+		// 1) Piece placement
+		String[] ranks = fields[0].split("/");
+		if (ranks.length != 8) {
+			throw new IllegalArgumentException("FEN needs 8 ranks: " + fen);
+		}
+		for (int row = 0; row < 8; row++) {
+			int col = 0;
+			for (char symbol : ranks[row].toCharArray()) {
+				if (symbol >= '1' && symbol <= '8') {
+					col += symbol - '0';
+					continue;
+				}
+				int type = PIECE_LETTERS.indexOf(Character.toLowerCase(symbol));
+				if (type < 0 || col > 7) {
+					throw new IllegalArgumentException("Bad rank '" + ranks[row] + "' in FEN: " + fen);
+				}
+				int color = Character.isUpperCase(symbol) ? Position.WHITE : Position.BLACK;
+				position.setPiece(Position.square(col, row), color, type);
+				col++;
+			}
+			if (col != 8) {
+				throw new IllegalArgumentException("Bad rank '" + ranks[row] + "' in FEN: " + fen);
+			}
+		}
+
+		// 2) Side to move
+		if (fields[1].equals("w")) {
+			position.setSideToMove(Position.WHITE);
+		} else if (fields[1].equals("b")) {
+			position.setSideToMove(Position.BLACK);
+		} else {
+			throw new IllegalArgumentException("Bad side to move in FEN: " + fen);
+		}
+
+		// 3) Castling rights
+		int rights = 0;
+		if (!fields[2].equals("-")) {
+			for (char symbol : fields[2].toCharArray()) {
+				int index = "KQkq".indexOf(symbol);
+				if (index < 0) {
+					throw new IllegalArgumentException("Bad castling rights in FEN: " + fen);
+				}
+				rights |= 1 << index;
+			}
+		}
+		position.setCastlingRights(rights);
+
+		// 4) En passant square
+		if (!fields[3].equals("-")) {
+			int square = Move.parseSquare(fields[3]);
+			if (square == Position.NO_SQUARE) {
+				throw new IllegalArgumentException("Bad en passant square in FEN: " + fen);
+			}
+			setEnPassantSquare(position, square, fen);
+		}
+
+		// 5) Move clocks
+		try {
+			if (fields.length > 4) {
+				position.setHalfmoveClock(Integer.parseInt(fields[4]));
+			}
+			if (fields.length > 5) {
+				position.setFullmoveNumber(Integer.parseInt(fields[5]));
+			}
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Bad move clock in FEN: " + fen, e);
+		}
+		if (position.getHalfmoveClock() < 0 || position.getFullmoveNumber() < 1) {
+			throw new IllegalArgumentException("Bad move clock in FEN: " + fen);
+		}
+
+		// 6) A position the move generator can play from
+		for (int color = Position.WHITE; color <= Position.BLACK; color++) {
+			if (Long.bitCount(position.getPieces(color, Position.KING)) != 1) {
+				throw new IllegalArgumentException("Each side needs exactly one king in FEN: " + fen);
+			}
+			if ((position.getPieces(color, Position.PAWN) & BACK_RANKS) != 0) {
+				throw new IllegalArgumentException("Pawn on the first or last rank in FEN: " + fen);
+			}
+		}
+		int opponent = position.getSideToMove() ^ 1;
+		if (position.isSquareAttacked(position.getKingSquare(opponent), position.getSideToMove())) {
+			throw new IllegalArgumentException("Side not to move is in check in FEN: " + fen);
+		}
+	}
+
+	/**
+	 * Sets the en passant square if a pawn of the side to move can capture
+	 * there. The square must be the one just skipped by a pawn of the other
+	 * side, which now stands in front of it.
+	 */
+	private static void setEnPassantSquare(Position position, int square, String fen) {
+		int us = position.getSideToMove();
+		int them = us ^ 1;
+		// White captures on row 2 (rank 6) past a black pawn on row 3
+		int skippedRow = us == Position.WHITE ? 2 : 5;
+		int pawnSquare = us == Position.WHITE ? square + 8 : square - 8;
+		if (Position.rowOf(square) != skippedRow || position.isOccupied(square)
+				|| position.getPiece(pawnSquare) != Position.pieceCode(them, Position.PAWN)) {
+			throw new IllegalArgumentException("Bad en passant square in FEN: " + fen);
+		}
+		if ((Attacks.pawnAttacks(them, square) & position.getPieces(us, Position.PAWN)) != 0) {
+			position.setEnPassantSquare(square);
+		}
+	}
+
+	/**
+	 * Writes the position as FEN with all six fields. Like Position, it names an
+	 * en passant square only when a pawn could capture there, so
+	 * parse(toFen(p)) gives back the same position and key.
+	 *
+	 * @return the FEN string of the position
+	 */
+	public static String toFen(Position position) {
+		StringBuilder fen = new StringBuilder(90);
+
+		// 1) Piece placement
+		for (int row = 0; row < 8; row++) {
+			int empty = 0;
+			for (int col = 0; col < 8; col++) {
+				int code = position.getPiece(Position.square(col, row));
+				if (code == Position.EMPTY) {
+					empty++;
+					continue;
+				}
+				if (empty > 0) {
+					fen.append(empty);
+					empty = 0;
+				}
+				char symbol = PIECE_LETTERS.charAt(Position.typeOf(code));
+				fen.append(Position.colorOf(code) == Position.WHITE ? Character.toUpperCase(symbol) : symbol);
+			}
+			if (empty > 0) {
+				fen.append(empty);
+			}
+			if (row < 7) {
+				fen.append('/');
+			}
+		}
+
+		// 2) Side to move
+		fen.append(position.getSideToMove() == Position.WHITE ? " w " : " b ");
+
+		// 3) Castling rights
+		int rights = position.getCastlingRights();
+		if (rights == 0) {
+			fen.append('-');
+		}
+		for (int index = 0; index < 4; index++) {
+			if ((rights & (1 << index)) != 0) {
+				fen.append("KQkq".charAt(index));
+			}
+		}
+
+		// 4) En passant square
+		int enPassantSquare = position.getEnPassantSquare();
+		fen.append(' ').append(enPassantSquare == Position.NO_SQUARE ? "-" : Move.squareName(enPassantSquare));
+
+		// 5) Move clocks
+		fen.append(' ').append(position.getHalfmoveClock()).append(' ').append(position.getFullmoveNumber());
+		return fen.toString();
+	}
+}
@@ -0,0 +1,128 @@
+package piece;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Static helpers for moves packed into a primitive int so move lists can live
+ * in plain int[] buffers without allocating objects.
+ *
+ * Layout (16 bits used): bits 0-5 origin square, bits 6-11 target square,
+ * bits 12-15 flags. Squares use the Position numbering.
+ */
+public final class Move {
+
+	// Value used for "no move"; a8 to a8 can never be a real move
+	public static final int NONE = 0;
+
+	// Move flags
+	public static final int QUIET = 0;
+	public static final int DOUBLE_PAWN_PUSH = 1;
+	public static final int KING_CASTLE = 2;
+	public static final int QUEEN_CASTLE = 3;
+	public static final int CAPTURE = 4;
+	public static final int EN_PASSANT = 5;
+	// Promotion flags: PROMOTION + (piece type - KNIGHT), plus CAPTURE when the
+	// promotion also captures
+	public static final int PROMOTION = 8;
+	public static final int KNIGHT_PROMOTION = 8;
+	public static final int BISHOP_PROMOTION = 9;
+	public static final int ROOK_PROMOTION = 10;
+	public static final int QUEEN_PROMOTION = 11;
+
+	private Move() {
+	}
+
+	public static int create(int from, int to, int flags) {
+		return from | (to << 6) | (flags << 12);
+	}
+
+	public static int from(int move) {
+		return move & 0x3F;
+	}
+
+	public static int to(int move) {
+		return (move >>> 6) & 0x3F;
+	}
+
+	public static int flags(int move) {
+		return (move >>> 12) & 0xF;
+	}
+
+	public static boolean isCapture(int move) {
+		return (flags(move) & CAPTURE) != 0;
+	}
+
+	public static boolean isPromotion(int move) {
+		return (flags(move) & PROMOTION) != 0;
+	}
+
+	public static boolean isEnPassant(int move) {
+		return flags(move) == EN_PASSANT;
+	}
+
+	public static boolean isCastle(int move) {
+		int flags = flags(move);
+		return flags == KING_CASTLE || flags == QUEEN_CASTLE;
+	}
+
+	/**
+	 * @return the piece type a promotion turns into (Position.KNIGHT ...
+	 *         Position.QUEEN)
+	 */
+	public static int promotionType(int move) {
+		return Position.KNIGHT + (flags(move) & 3);
+	}
+
+	/**
+	 * @return the square of the piece a capture removes; differs from the target
+	 *         square only for en passant
+	 */
+	public static int capturedSquare(int move) {
+		if (isEnPassant(move)) {
+			return Position.square(Position.colOf(to(move)), Position.rowOf(from(move)));
+		}
+		return to(move);
+	}
+
+	/**
+	 * @return the algebraic name of a square, e.g. "e4"
+	 */
+	public static String squareName(int square) {
+		return "" + (char) ('a' + Position.colOf(square)) + (char) ('8' - Position.rowOf(square));
+	}
+
+	/**
+	 * @return the square with the given algebraic name, or Position.NO_SQUARE
+	 */
+	public static int parseSquare(String name) {
+		if (name.length() != 2) {
+			return Position.NO_SQUARE;
+		}
+		int col = name.charAt(0) - 'a';
+		int row = '8' - name.charAt(1);
+		return Position.isWithinBoard(col, row) ? Position.square(col, row) : Position.NO_SQUARE;
+	}
+
+	/**
+	 * @return the move in long algebraic (UCI) notation, e.g. "e2e4" or "e7e8q"
+	 */
+	public static String toUci(int move) {
+		if (move == NONE) {
+			return "0000";
+		}
+		String text = squareName(from(move)) + squareName(to(move));
+		if (isPromotion(move)) {
+			text += "nbrq".charAt(promotionType(move) - Position.KNIGHT);
+		}
+		return text;
+	}
+}
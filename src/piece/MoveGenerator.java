@@ -0,0 +1,312 @@
+package piece;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Lists every move in a Position. Moves are written as packed ints (see Move)
+ * into a buffer supplied by the caller, so generating moves never allocates.
+ *
+ * The piece rules are the same ones the Piece classes check one drag target
+ * at a time: pawns push one or two squares and capture diagonally (including
+ * en passant), knights and kings use their jump tables, sliders use the magic
+ * attack tables. On top of that it generates castling and all four promotion
+ * choices, and the legal variants drop every move that leaves the mover's
+ * king attacked.
+ */
+public final class MoveGenerator {
+
+	// Upper bound on the number of moves in any reachable position
+	public static final int MAX_MOVES = 256;
+
+	private MoveGenerator() {
+	}
+
+	/**
+	 * Writes every pseudo-legal move (moves that follow the piece rules but may
+	 * leave the king in check) for the side to move into the buffer.
+	 *
+	 * @param position the position to generate moves for
+	 * @param moves    buffer of at least MAX_MOVES entries
+	 * @return the number of moves written
+	 */
+	public static int generatePseudoLegal(Position position, int[] moves) {
+		int us = position.getSideToMove();
+		int them = us ^ 1;
+		long own = position.getColorOccupancy(us);
+		long enemy = position.getColorOccupancy(them);
+		long occupied = position.getOccupancy();
+		int count = generatePawnMoves(position, moves, 0, us, enemy, occupied);
+
+		long knights = position.getPieces(us, Position.KNIGHT);
+		while (knights != 0) {
+			int from = Long.numberOfTrailingZeros(knights);
+			knights &= knights - 1;
+			count = addPieceMoves(moves, count, from, Attacks.knightAttacks(from) & ~own, enemy);
+		}
+		long diagonalSliders = position.getPieces(us, Position.BISHOP) | position.getPieces(us, Position.QUEEN);
+		while (diagonalSliders != 0) {
+			int from = Long.numberOfTrailingZeros(diagonalSliders);
+			diagonalSliders &= diagonalSliders - 1;
+			count = addPieceMoves(moves, count, from, Attacks.bishopAttacks(from, occupied) & ~own, enemy);
+		}
+		long straightSliders = position.getPieces(us, Position.ROOK) | position.getPieces(us, Position.QUEEN);
+		while (straightSliders != 0) {
+			int from = Long.numberOfTrailingZeros(straightSliders);
+			straightSliders &= straightSliders - 1;
+			count = addPieceMoves(moves, count, from, Attacks.rookAttacks(from, occupied) & ~own, enemy);
+		}
+		long king = position.getPieces(us, Position.KING);
+		if (king != 0) {
+			int from = Long.numberOfTrailingZeros(king);
+			count = addPieceMoves(moves, count, from, Attacks.kingAttacks(from) & ~own, enemy);
+			count = generateCastling(position, moves, count, us, from);
+		}
+		return count;
+	}
+
+	/**
+	 * Writes the pseudo-legal captures (including en passant) and promotions for
+	 * the side to move into the buffer. Used where only moves that change the
+	 * material balance are of interest, such as a quiescence search.
+	 *
+	 * @param position the position to generate moves for
+	 * @param moves    buffer of at least MAX_MOVES entries
+	 * @return the number of moves written
+	 */
+	public static int generateCaptures(Position position, int[] moves) {
+		int count = generatePseudoLegal(position, moves);
+		int captureCount = 0;
+		for (int index = 0; index < count; index++) {
+			int move = moves[index];
+			if (Move.isCapture(move) || Move.isPromotion(move)) {
+				moves[captureCount++] = move;
+			}
+		}
+		return captureCount;
+	}
+
+	/**
+	 * Writes every legal move for the side to move into the buffer.
+	 *
+	 * @param position the position to generate moves for
+	 * @param moves    buffer of at least MAX_MOVES entries
+	 * @return the number of moves written
+	 */
+	public static int generateLegal(Position position, int[] moves) {
+		int count = generatePseudoLegal(position, moves);
+		int legalCount = 0;
+		for (int index = 0; index < count; index++) {
+			if (isLegal(position, moves[index])) {
+				moves[legalCount++] = moves[index];
+			}
+		}
+		return legalCount;
+	}
+
+	/**
+	 * Returns true if the side to move has at least one legal move, stopping at
+	 * the first one found. Together with Position.isInCheck this tells check,
+	 * checkmate and stalemate apart without listing every move.
+	 */
+	public static boolean hasLegalMove(Position position) {
+		int us = position.getSideToMove();
+		int them = us ^ 1;
+		long own = position.getColorOccupancy(us);
+		long occupied = position.getOccupancy();
+
+		// King steps first: the usual way out of a check
+		int kingSquare = position.getKingSquare(us);
+		if (kingSquare < 64 && (Attacks.kingAttacks(kingSquare) & ~own & ~position.getAttacks(them)) != 0) {
+			return true;
+		}
+		// In double check only the king can move
+		long checkers = position.getCheckers();
+		if ((checkers & (checkers - 1)) != 0) {
+			return false;
+		}
+
+		int enPassantSquare = position.getEnPassantSquare();
+		long enPassantBit = enPassantSquare != Position.NO_SQUARE ? Position.bit(enPassantSquare) : 0L;
+		int forward = us == Position.WHITE ? -8 : 8;
+		int startRow = us == Position.WHITE ? 6 : 1;
+		long pieces = own & ~position.getPieces(us, Position.KING);
+		while (pieces != 0) {
+			int from = Long.numberOfTrailingZeros(pieces);
+			pieces &= pieces - 1;
+			int type = position.getPieceType(from);
+			long targets;
+			if (type == Position.PAWN) {
+				targets = Attacks.pawnAttacks(us, from) & (position.getColorOccupancy(them) | enPassantBit);
+				int single = from + forward;
+				if ((occupied & Position.bit(single)) == 0) {
+					targets |= Position.bit(single);
+					if (Position.rowOf(from) == startRow && (occupied & Position.bit(single + forward)) == 0) {
+						targets |= Position.bit(single + forward);
+					}
+				}
+			} else {
+				targets = Attacks.attacks(type, us, from, occupied) & ~own;
+			}
+			while (targets != 0) {
+				int to = Long.numberOfTrailingZeros(targets);
+				targets &= targets - 1;
+				int flags = type == Position.PAWN && to == enPassantSquare ? Move.EN_PASSANT : Move.QUIET;
+				if (isLegal(position, Move.create(from, to, flags))) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns true if a pseudo-legal move does not leave the mover's king
+	 * attacked. The position is not modified. A king move is legal if the enemy
+	 * attack map (which sees through the king) does not cover its target; when
+	 * the king is not in check, any other move is legal unless it takes a pinned
+	 * piece off its pin line. Only moves made in check and en passant captures
+	 * fall back to computing the occupancy after the move and looking up the
+	 * king's attackers against it. Castling moves are checked for attacked
+	 * squares while they are generated.
+	 */
+	public static boolean isLegal(Position position, int move) {
+		int us = position.getSideToMove();
+		int them = us ^ 1;
+		int from = Move.from(move);
+		int to = Move.to(move);
+		int kingSquare = position.getKingSquare(us);
+
+		if (from == kingSquare) {
+			return Move.isCastle(move) || (position.getAttacks(them) & Position.bit(to)) == 0;
+		}
+		if (position.getCheckers() == 0 && !Move.isEnPassant(move)) {
+			return (position.getPinned() & Position.bit(from)) == 0
+					|| (Attacks.line(from, kingSquare) & Position.bit(to)) != 0;
+		}
+
+		long enemy = position.getColorOccupancy(them);
+		int capturedSquare = Move.capturedSquare(move);
+		long occupancy = (position.getOccupancy() ^ Position.bit(from) ^ Position.bit(capturedSquare))
+				| Position.bit(to);
+		// The captured piece no longer attacks anything
+		long attackers = enemy & ~Position.bit(capturedSquare);
+		return (position.getAttackersTo(kingSquare, occupancy) & attackers) == 0;
+	}
+
+	/**
+	 * Adds one move per target square, flagging captures of enemy pieces.
+	 */
+	private static int addPieceMoves(int[] moves, int count, int from, long targets, long enemy) {
+		while (targets != 0) {
+			int to = Long.numberOfTrailingZeros(targets);
+			targets &= targets - 1;
+			int flags = (enemy & Position.bit(to)) != 0 ? Move.CAPTURE : Move.QUIET;
+			moves[count++] = Move.create(from, to, flags);
+		}
+		return count;
+	}
+
+	private static int generatePawnMoves(Position position, int[] moves, int count, int us, long enemy,
+			long occupied) {
+		// White pawns move toward row 0, black pawns toward row 7
+		int forward = us == Position.WHITE ? -8 : 8;
+		int startRow = us == Position.WHITE ? 6 : 1;
+		int promotionRow = us == Position.WHITE ? 0 : 7;
+		int enPassantSquare = position.getEnPassantSquare();
+
+		long pawns = position.getPieces(us, Position.PAWN);
+		while (pawns != 0) {
+			int from = Long.numberOfTrailingZeros(pawns);
+			pawns &= pawns - 1;
+
+			// Single and double forward moves onto empty squares
+			int single = from + forward;
+			if ((occupied & Position.bit(single)) == 0) {
+				if (Position.rowOf(single) == promotionRow) {
+					count = addPromotions(moves, count, from, single, 0);
+				} else {
+					moves[count++] = Move.create(from, single, Move.QUIET);
+					int twoAhead = single + forward;
+					if (Position.rowOf(from) == startRow && (occupied & Position.bit(twoAhead)) == 0) {
+						moves[count++] = Move.create(from, twoAhead, Move.DOUBLE_PAWN_PUSH);
+					}
+				}
+			}
+
+			// Diagonal captures
+			long attacks = Attacks.pawnAttacks(us, from);
+			long captures = attacks & enemy;
+			while (captures != 0) {
+				int to = Long.numberOfTrailingZeros(captures);
+				captures &= captures - 1;
+				if (Position.rowOf(to) == promotionRow) {
+					count = addPromotions(moves, count, from, to, Move.CAPTURE);
+				} else {
+					moves[count++] = Move.create(from, to, Move.CAPTURE);
+				}
+			}
+
+			// En passant capture of a pawn that just advanced two squares
+			if (enPassantSquare != Position.NO_SQUARE && (attacks & Position.bit(enPassantSquare)) != 0) {
+				moves[count++] = Move.create(from, enPassantSquare, Move.EN_PASSANT);
+			}
+		}
+		return count;
+	}
+
+	private static int addPromotions(int[] moves, int count, int from, int to, int captureFlag) {
+		moves[count++] = Move.create(from, to, Move.QUEEN_PROMOTION | captureFlag);
+		moves[count++] = Move.create(from, to, Move.KNIGHT_PROMOTION | captureFlag);
+		moves[count++] = Move.create(from, to, Move.ROOK_PROMOTION | captureFlag);
+		moves[count++] = Move.create(from, to, Move.BISHOP_PROMOTION | captureFlag);
+		return count;
+	}
+
+	/**
+	 * Adds the castling moves allowed by canCastle.
+	 */
+	private static int generateCastling(Position position, int[] moves, int count, int us, int kingSquare) {
+		if ((position.getCastlingRights() & (us == Position.WHITE ? Position.WHITE_KINGSIDE | Position.WHITE_QUEENSIDE
+				: Position.BLACK_KINGSIDE | Position.BLACK_QUEENSIDE)) == 0) {
+			return count;
+		}
+		if (canCastle(position, us, true)) {
+			moves[count++] = Move.create(kingSquare, kingSquare + 2, Move.KING_CASTLE);
+		}
+		if (canCastle(position, us, false)) {
+			moves[count++] = Move.create(kingSquare, kingSquare - 2, Move.QUEEN_CASTLE);
+		}
+		return count;
+	}
+
+	/**
+	 * Returns true when the color may castle to the given side: the right is
+	 * still held, king and rook are home, the squares between them are empty and
+	 * the king does not start on, pass through or land on an attacked square.
+	 */
+	static boolean canCastle(Position position, int us, boolean kingside) {
+		int homeRow = us == Position.WHITE ? 7 : 0;
+		int right = us == Position.WHITE ? (kingside ? Position.WHITE_KINGSIDE : Position.WHITE_QUEENSIDE)
+				: (kingside ? Position.BLACK_KINGSIDE : Position.BLACK_QUEENSIDE);
+		int kingSquare = Position.square(4, homeRow);
+		int rookSquare = Position.square(kingside ? 7 : 0, homeRow);
+		if ((position.getCastlingRights() & right) == 0
+				|| (position.getPieces(us, Position.KING) & Position.bit(kingSquare)) == 0
+				|| (position.getPieces(us, Position.ROOK) & Position.bit(rookSquare)) == 0
+				|| (position.getOccupancy() & Attacks.between(kingSquare, rookSquare)) != 0) {
+			return false;
+		}
+		int step = kingside ? 1 : -1;
+		long path = Position.bit(kingSquare) | Position.bit(kingSquare + step) | Position.bit(kingSquare + 2 * step);
+		return (position.getAttacks(us ^ 1) & path) == 0;
+	}
+}
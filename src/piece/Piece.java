@@ -1,12 +1,9 @@
 package piece;
 
 import java.awt.Graphics2D;
-import java.awt.image.BufferedImage;
-import java.io.IOException;
-
-import javax.imageio.ImageIO;
 
 import main.Board;
+import main.Game;
 import main.GamePanel;
 
 /**
@@ -28,10 +25,6 @@ public abstract class Piece {
 	private int boardCol, boardRow, previousCol, previousRow;
 	// A Piece has-a pieceColor
 	private int pieceColor;
-	// A Piece has-a pieceImage
-	private BufferedImage pieceImage;
-	// A Piece has-a collidingPiece
-	private Piece collidingPiece;
 	// A Piece has-a moved flag (track if a piece has moved from orignal position)
 	private boolean moved;
 
@@ -46,35 +39,9 @@ public abstract class Piece {
 		previousRow = boardRow;
 	}
 
-	// Returns image from resources
-	public BufferedImage getPieceImage(String imagePath) {
-		BufferedImage pieceImage = null;
-		try {
-			pieceImage = ImageIO.read(getClass().getResourceAsStream(imagePath + ".png"));
-		} catch (IOException e) { // catch if a unexpected request comes in
-			e.printStackTrace();
-		}
-		return pieceImage;
-	}
-
-	// Method to set each pieces image
-	public void setPieceImage(BufferedImage pieceImage) {
-		this.pieceImage = pieceImage;
-	}
-
-	// Method to draw each piece
+	// Method to draw each piece with the shared image of its type and color
 	public void draw(Graphics2D pieceGraphics) {
-		pieceGraphics.drawImage(pieceImage, getPixelX(), getPixelY(), Board.getSquareSize(), Board.getSquareSize(),
-				null);
-	}
-
-	public int getIndex() {
-		for (int index = 0; index < GamePanel.displayPieces.size(); index++) {
-			if (GamePanel.displayPieces.get(index) == this) {
-				return index;
-			}
-		}
-		return 0;
+		pieceGraphics.drawImage(SpriteAtlas.get(pieceColor, getPieceType()), getPixelX(), getPixelY(), null);
 	}
 
 	public void updatePosition() {
@@ -94,165 +61,60 @@ public abstract class Piece {
 
 	}
 
-	public abstract boolean isLegalMove(int targetCol, int targetRow);
-
-	public boolean isWithinBoard(int targetCol, int targetRow) {
-		if (targetCol >= 0 && targetCol <= 7 && targetRow >= 0 && targetRow <= 7) {
-			return true;
+	/**
+	 * Returns the move this piece makes by going from its committed square to
+	 * the target square in the given game, encoded as Rules.findLegalMove
+	 * encodes it, or Move.NONE if it is not this piece's turn, the piece rules do
+	 * not allow it or it would leave the king in check. Nothing is changed, so
+	 * the question can be asked speculatively, e.g. for every square the piece
+	 * is dragged over.
+	 */
+	public int findMove(Game game, int targetCol, int targetRow) {
+		if (!isWithinBoard(targetCol, targetRow)) {
+			return Move.NONE;
 		}
-		return false;
+		return Rules.findLegalMove(game.getPosition(), getSquare(), Position.square(targetCol, targetRow));
 	}
 
-	public Piece getCollidingPiece(int targetCol, int targetRow) {
-		for (Piece piece : GamePanel.displayPieces) {
-			if (piece.boardCol == targetCol && piece.boardRow == targetRow && piece != this) {
-				return piece;
-			}
-		}
-		return null;
+	/**
+	 * @return true if a legal move to the target square exists in the game
+	 */
+	public boolean isLegalMove(Game game, int targetCol, int targetRow) {
+		return findMove(game, targetCol, targetRow) != Move.NONE;
 	}
 
-	public boolean isDestinationValid(int targetCol, int targetRow) {
-
-		collidingPiece = getCollidingPiece(targetCol, targetRow);
+	/**
+	 * @return the Position piece type constant (Position.PAWN ... Position.KING)
+	 */
+	public abstract int getPieceType();
 
-		// Empty square - can move freely
-		if (getCollidingPiece() == null) { // Vacant square
+	public boolean isWithinBoard(int targetCol, int targetRow) {
+		if (targetCol >= 0 && targetCol <= 7 && targetRow >= 0 && targetRow <= 7) {
 			return true;
 		}
-		// Square has a piece - can only move if capturing an opponent's piece
-		else {
-			if (getCollidingPiece().pieceColor != this.pieceColor) { // Occupied square
-				return true; // Can capture opponent's piece
-			} else { //
-				collidingPiece = null; // Can't capture own piece
-			}
-		}
 		return false;
 	}
 
 	/**
-	 * Returns true if this piece currently occupies the given board square.
+	 * @return the other piece of the game on the target square, or null
 	 */
-	public boolean isSameSquare(int targetCol, int targetRow) {
-		return boardCol == targetCol && boardRow == targetRow;
+	public Piece getCollidingPiece(Game game, int targetCol, int targetRow) {
+		return game.getPieceAt(targetCol, targetRow, this);
 	}
 
 	/**
-	 * Returns true if moving from this piece’s current square to (targetColumn,
-	 * targetRow) is strictly horizontal or vertical, non‑zero, on the board, and
-	 * has no pieces blocking the path.
+	 * Returns true if this piece currently occupies the given board square.
 	 */
-	public boolean isStraightPathClear(int targetColumn, int targetRow) {
-		// 1) Must stay on board
-		if (!isWithinBoard(targetColumn, targetRow)) {
-			return false;
-		}
-
-		// 2) Must actually change square
-		if (getPreviousCol() == targetColumn && getPreviousRow() == targetRow) {
-			return false;
-		}
-
-		// 3) Compute how far we’re moving in each axis
-		int deltaColumn = targetColumn - getPreviousCol();
-		int deltaRow = targetRow - getPreviousRow();
-
-		// 4) Must move purely horizontal or purely vertical
-		if (deltaColumn != 0 && deltaRow != 0) {
-			return false;
-		}
-
-		// 5) Determine step direction for each axis: -1, 0, or +1
-		int stepInColumn;
-		if (deltaColumn > 0) {
-			stepInColumn = 1;
-		} else if (deltaColumn < 0) {
-			stepInColumn = -1;
-		} else {
-			stepInColumn = 0;
-		}
-
-		int stepInRow;
-		if (deltaRow > 0) {
-			stepInRow = 1;
-		} else if (deltaRow < 0) {
-			stepInRow = -1;
-		} else {
-			stepInRow = 0;
-		}
-
-		// 6) Walk the squares between start and target
-		int currentColumn = getPreviousCol() + stepInColumn;
-		int currentRow = getPreviousRow() + stepInRow;
-		while (currentColumn != targetColumn || currentRow != targetRow) {
-			for (Piece piece : GamePanel.boardState) {
-				if (piece.isSameSquare(currentColumn, currentRow)) {
-					return false; // path is blocked
-				}
-			}
-			currentColumn += stepInColumn;
-			currentRow += stepInRow;
-		}
-
-		return true;
+	public boolean isSameSquare(int targetCol, int targetRow) {
+		return boardCol == targetCol && boardRow == targetRow;
 	}
 
 	/**
-	 * Returns true if moving from this piece’s current square to (targetColumn,
-	 * targetRow) along a diagonal is 1) on the board, 2) non‑zero, 3) a true
-	 * diagonal (equal column and row distance), and 4) has no pieces blocking the
-	 * path.
+	 * @return the Position square of this piece's committed location
+	 *         (previousCol/previousRow)
 	 */
-	public boolean isDiagonalPathClear(int targetColumn, int targetRow) {
-		// 1) Must stay on board
-		if (!isWithinBoard(targetColumn, targetRow)) {
-			return false;
-		}
-
-		// 2) Must actually change square
-		int startColumn = getPreviousCol();
-		int startRow = getPreviousRow();
-		if (startColumn == targetColumn && startRow == targetRow) {
-			return false;
-		}
-
-		// 3) Must move equal steps in both axes (true diagonal)
-		int deltaColumn = targetColumn - startColumn;
-		int deltaRow = targetRow - startRow;
-		if (Math.abs(deltaColumn) != Math.abs(deltaRow)) {
-			return false;
-		}
-
-		// 4) Determine step direction for each axis: +1 or -1
-		int stepInColumn;
-		if (deltaColumn > 0) {
-			stepInColumn = 1;
-		} else {
-			stepInColumn = -1;
-		}
-
-		int stepInRow;
-		if (deltaRow > 0) {
-			stepInRow = 1;
-		} else {
-			stepInRow = -1;
-		}
-
-		// 5) Walk each square between start and target (exclusive)
-		int currentColumn = startColumn + stepInColumn;
-		int currentRow = startRow + stepInRow;
-		while (currentColumn != targetColumn && currentRow != targetRow) {
-			for (Piece piece : GamePanel.boardState) {
-				if (piece.isSameSquare(currentColumn, currentRow)) {
-					return false; // path is blocked
-				}
-			}
-			currentColumn += stepInColumn;
-			currentRow += stepInRow;
-		}
-
-		return true;
+	public int getSquare() {
+		return Position.square(previousCol, previousRow);
 	}
 
 	// ====== POSITION CONVERSION METHODS ======
@@ -356,20 +218,6 @@ public abstract class Piece {
 		return pieceColor;
 	}
 
-	/**
-	 * @return the collidingPiece
-	 */
-	public Piece getCollidingPiece() {
-		return collidingPiece;
-	}
-
-	/*
-	 * @param colliding piece to be set
-	 */
-	public void setCollidingPiece(Piece collidingPiece) {
-		this.collidingPiece = collidingPiece;
-	}
-
 	/**
 	 * @return the moved
 	 */
@@ -0,0 +1,728 @@
+package piece;
+
+import java.util.Arrays;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Headless model of a chess position. Stores one 64-bit bitboard per color and
+ * piece type plus a 64-entry mailbox, so occupancy and "what stands on this
+ * square" questions are answered with bit operations instead of list scans.
+ *
+ * Squares are numbered row * 8 + col using the same board coordinates as the
+ * Piece classes: row 0 is black's back rank at the top of the window and col 0
+ * is the a-file. Bit n of a bitboard is square n.
+ */
+public class Position {
+
+	// Colors (same values as GamePanel.WHITE and GamePanel.BLACK)
+	public static final int WHITE = 0;
+	public static final int BLACK = 1;
+
+	// Piece types
+	public static final int PAWN = 0;
+	public static final int KNIGHT = 1;
+	public static final int BISHOP = 2;
+	public static final int ROOK = 3;
+	public static final int QUEEN = 4;
+	public static final int KING = 5;
+
+	// Mailbox value of an empty square
+	public static final int EMPTY = -1;
+	// Value of enPassantSquare when no en passant capture is possible
+	public static final int NO_SQUARE = -1;
+
+	// Castling right bits
+	public static final int WHITE_KINGSIDE = 1;
+	public static final int WHITE_QUEENSIDE = 2;
+	public static final int BLACK_KINGSIDE = 4;
+	public static final int BLACK_QUEENSIDE = 8;
+
+	// Moves the undo stack holds before it has to grow
+	private static final int INITIAL_UNDO_CAPACITY = 1024;
+	// Longs per undo stack entry: packed state, key, both attack maps, checkers
+	// and pinned pieces
+	private static final int UNDO_ENTRY_SIZE = 6;
+	// Bits of the packed undo state that record which cached attack
+	// information was valid (above the halfmove clock's 32 bits at 16-47)
+	private static final long CHECK_INFO_SAVED = 1L << 60;
+	private static final long ATTACK_MAPS_SAVED = 1L << 61;
+
+	// Columns a and h, to stop pawn attack shifts wrapping around the board
+	private static final long FILE_A = 0x0101010101010101L;
+	private static final long FILE_H = 0x8080808080808080L;
+
+	// Castling rights that survive a move touching each square: moving the king
+	// or a rook, or capturing on a rook's home square, clears the matching rights
+	private static final int[] CASTLING_RIGHTS_KEPT = new int[64];
+
+	static {
+		for (int square = 0; square < 64; square++) {
+			CASTLING_RIGHTS_KEPT[square] = WHITE_KINGSIDE | WHITE_QUEENSIDE | BLACK_KINGSIDE | BLACK_QUEENSIDE;
+		}
+		CASTLING_RIGHTS_KEPT[square(4, 7)] &= ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+		CASTLING_RIGHTS_KEPT[square(7, 7)] &= ~WHITE_KINGSIDE;
+		CASTLING_RIGHTS_KEPT[square(0, 7)] &= ~WHITE_QUEENSIDE;
+		CASTLING_RIGHTS_KEPT[square(4, 0)] &= ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+		CASTLING_RIGHTS_KEPT[square(7, 0)] &= ~BLACK_KINGSIDE;
+		CASTLING_RIGHTS_KEPT[square(0, 0)] &= ~BLACK_QUEENSIDE;
+	}
+
+	// A Position has-a pieceBitboards (one bitboard per color and piece type,
+	// indexed by piece code)
+	private final long[] pieceBitboards = new long[12];
+	// A Position has-a colorBitboards (every square occupied by each color)
+	private final long[] colorBitboards = new long[2];
+	// A Position has-a occupied (every occupied square)
+	private long occupied;
+	// A Position has-a mailbox (piece code standing on each square, or EMPTY)
+	private final int[] mailbox = new int[64];
+	// A Position has-a sideToMove
+	private int sideToMove = WHITE;
+	// A Position has-a castlingRights (combination of the castling right bits)
+	private int castlingRights;
+	// A Position has-a enPassantSquare (square a pawn skipped last move)
+	private int enPassantSquare = NO_SQUARE;
+	// A Position has-a halfmoveClock and fullmoveNumber
+	private int halfmoveClock;
+	private int fullmoveNumber = 1;
+	// A Position has-a key (Zobrist hash of pieces, side to move, castling
+	// rights and en passant file, kept up to date by every change)
+	private long key;
+	// A Position has-a checkers and pinned (enemy pieces giving check to the
+	// side to move, and its pieces pinned to its king), computed on first use
+	// after a change
+	private long checkers;
+	private long pinned;
+	private boolean checkInfoValid;
+	// A Position has-a attackMaps (every square each color attacks), computed
+	// on first use after a change
+	private final long[] attackMaps = new long[2];
+	private boolean attackMapsValid;
+	// A Position has-a undoStack (UNDO_ENTRY_SIZE longs per made move: the
+	// packed state makeMove cannot recompute, the key and the cached attack
+	// information) and undoCount (moves on it)
+	private long[] undoStack = new long[INITIAL_UNDO_CAPACITY * UNDO_ENTRY_SIZE];
+	private int undoCount;
+
+	public Position() {
+		clear();
+	}
+
+	// ====== SQUARE AND PIECE CODE HELPERS ======
+
+	public static int square(int col, int row) {
+		return row * 8 + col;
+	}
+
+	public static int colOf(int square) {
+		return square & 7;
+	}
+
+	public static int rowOf(int square) {
+		return square >>> 3;
+	}
+
+	public static long bit(int square) {
+		return 1L << square;
+	}
+
+	public static boolean isWithinBoard(int col, int row) {
+		return col >= 0 && col <= 7 && row >= 0 && row <= 7;
+	}
+
+	/**
+	 * @return the code used for a piece of the given color and type in the
+	 *         mailbox and as index into the piece bitboards
+	 */
+	public static int pieceCode(int color, int type) {
+		return color * 6 + type;
+	}
+
+	public static int typeOf(int pieceCode) {
+		return pieceCode % 6;
+	}
+
+	public static int colorOf(int pieceCode) {
+		return pieceCode / 6;
+	}
+
+	// ====== SETUP ======
+
+	/** Removes every piece and resets the game state fields. */
+	public void clear() {
+		for (int code = 0; code < pieceBitboards.length; code++) {
+			pieceBitboards[code] = 0L;
+		}
+		colorBitboards[WHITE] = 0L;
+		colorBitboards[BLACK] = 0L;
+		occupied = 0L;
+		for (int square = 0; square < 64; square++) {
+			mailbox[square] = EMPTY;
+		}
+		sideToMove = WHITE;
+		castlingRights = 0;
+		enPassantSquare = NO_SQUARE;
+		halfmoveClock = 0;
+		fullmoveNumber = 1;
+		key = 0L;
+		undoCount = 0;
+		invalidateAttackInfo();
+	}
+
+	/**
+	 * Makes this position an exact copy of another one without allocating. The
+	 * other position's undo stack is not copied, so the copy starts with no
+	 * moves to unmake.
+	 */
+	public void copyFrom(Position other) {
+		System.arraycopy(other.pieceBitboards, 0, pieceBitboards, 0, pieceBitboards.length);
+		colorBitboards[WHITE] = other.colorBitboards[WHITE];
+		colorBitboards[BLACK] = other.colorBitboards[BLACK];
+		occupied = other.occupied;
+		System.arraycopy(other.mailbox, 0, mailbox, 0, mailbox.length);
+		sideToMove = other.sideToMove;
+		castlingRights = other.castlingRights;
+		enPassantSquare = other.enPassantSquare;
+		halfmoveClock = other.halfmoveClock;
+		fullmoveNumber = other.fullmoveNumber;
+		key = other.key;
+		undoCount = 0;
+		checkers = other.checkers;
+		pinned = other.pinned;
+		checkInfoValid = other.checkInfoValid;
+		attackMaps[WHITE] = other.attackMaps[WHITE];
+		attackMaps[BLACK] = other.attackMaps[BLACK];
+		attackMapsValid = other.attackMapsValid;
+	}
+
+	/** Puts a piece on an empty square. */
+	public void setPiece(int square, int color, int type) {
+		int code = pieceCode(color, type);
+		long squareBit = bit(square);
+		pieceBitboards[code] |= squareBit;
+		colorBitboards[color] |= squareBit;
+		occupied |= squareBit;
+		mailbox[square] = code;
+		key ^= Zobrist.pieceSquare(code, square);
+		invalidateAttackInfo();
+	}
+
+	/** Removes whatever piece stands on the square. */
+	public void removePiece(int square) {
+		int code = mailbox[square];
+		if (code == EMPTY) {
+			return;
+		}
+		long squareBit = bit(square);
+		pieceBitboards[code] &= ~squareBit;
+		colorBitboards[colorOf(code)] &= ~squareBit;
+		occupied &= ~squareBit;
+		mailbox[square] = EMPTY;
+		key ^= Zobrist.pieceSquare(code, square);
+		invalidateAttackInfo();
+	}
+
+	// ====== PLAYING MOVES ======
+
+	/**
+	 * Applies a move generated for this position: moves the piece, removes any
+	 * captured piece (including the pawn taken en passant), moves the rook when
+	 * castling, promotes, and updates castling rights, the en passant square,
+	 * the move clocks and the side to move. What the move destroys is pushed on
+	 * the undo stack so unmakeMove can restore it.
+	 */
+	public void makeMove(int move) {
+		int from = Move.from(move);
+		int to = Move.to(move);
+		int us = sideToMove;
+		int type = typeOf(mailbox[from]);
+		int captured = Move.isCapture(move) ? mailbox[Move.capturedSquare(move)] : EMPTY;
+		pushUndo(captured);
+
+		halfmoveClock++;
+		if (captured != EMPTY) {
+			removePiece(Move.capturedSquare(move));
+			halfmoveClock = 0;
+		}
+		removePiece(from);
+		setPiece(to, us, Move.isPromotion(move) ? Move.promotionType(move) : type);
+		if (type == PAWN) {
+			halfmoveClock = 0;
+		}
+
+		// Castling also moves the rook next to the king
+		if (Move.isCastle(move)) {
+			int row = rowOf(from);
+			boolean kingside = Move.flags(move) == Move.KING_CASTLE;
+			removePiece(square(kingside ? 7 : 0, row));
+			setPiece(square(kingside ? 5 : 3, row), us, ROOK);
+		}
+
+		key ^= Zobrist.castling(castlingRights);
+		castlingRights &= CASTLING_RIGHTS_KEPT[from] & CASTLING_RIGHTS_KEPT[to];
+		key ^= Zobrist.castling(castlingRights);
+
+		// Only remember the skipped square when an enemy pawn could capture on it
+		key ^= Zobrist.enPassant(enPassantSquare);
+		enPassantSquare = NO_SQUARE;
+		if (Move.flags(move) == Move.DOUBLE_PAWN_PUSH) {
+			int skipped = (from + to) >>> 1;
+			if ((Attacks.pawnAttacks(us, skipped) & pieceBitboards[pieceCode(us ^ 1, PAWN)]) != 0) {
+				enPassantSquare = skipped;
+				key ^= Zobrist.enPassant(skipped);
+			}
+		}
+
+		if (us == BLACK) {
+			fullmoveNumber++;
+		}
+		sideToMove = us ^ 1;
+		key ^= Zobrist.sideToMove();
+	}
+
+	/**
+	 * Takes back the last move made with makeMove. The move must be the same
+	 * int that was passed to makeMove.
+	 */
+	public void unmakeMove(int move) {
+		int from = Move.from(move);
+		int to = Move.to(move);
+		int us = sideToMove ^ 1;
+		long state = undoStack[--undoCount * UNDO_ENTRY_SIZE];
+
+		sideToMove = us;
+		if (us == BLACK) {
+			fullmoveNumber--;
+		}
+		if (Move.isCastle(move)) {
+			int row = rowOf(from);
+			boolean kingside = Move.flags(move) == Move.KING_CASTLE;
+			lift(square(kingside ? 5 : 3, row));
+			place(square(kingside ? 7 : 0, row), pieceCode(us, ROOK));
+		}
+		int code = Move.isPromotion(move) ? pieceCode(us, PAWN) : mailbox[to];
+		lift(to);
+		place(from, code);
+		int captured = (int) (state & 0xF) - 1;
+		if (captured != EMPTY) {
+			place(Move.capturedSquare(move), captured);
+		}
+		restoreUndo(state);
+	}
+
+	/**
+	 * Passes the turn without moving a piece (a "null move"), as used by search
+	 * pruning. Clears the en passant square and updates the key. The halfmove
+	 * clock restarts so repetition checks never look back across a null move.
+	 * Take it back with unmakeNullMove.
+	 */
+	public void makeNullMove() {
+		pushUndo(EMPTY);
+		key ^= Zobrist.enPassant(enPassantSquare);
+		enPassantSquare = NO_SQUARE;
+		halfmoveClock = 0;
+		sideToMove ^= 1;
+		key ^= Zobrist.sideToMove();
+		// The pieces did not move, so only the side-to-move information changes
+		checkInfoValid = false;
+	}
+
+	/** Takes back the last null move made with makeNullMove. */
+	public void unmakeNullMove() {
+		sideToMove ^= 1;
+		restoreUndo(undoStack[--undoCount * UNDO_ENTRY_SIZE]);
+	}
+
+	/**
+	 * @return the number of moves that can currently be taken back
+	 */
+	public int getUndoCount() {
+		return undoCount;
+	}
+
+	/**
+	 * Saves the captured piece code, castling rights, en passant square, halfmove
+	 * clock, key and whatever attack information has been computed for the
+	 * position before a move, so unmaking restores all of it without
+	 * recomputing. The stack only grows when a game runs past its initial
+	 * capacity, so making moves does not allocate.
+	 */
+	private void pushUndo(int captured) {
+		if (undoCount * UNDO_ENTRY_SIZE == undoStack.length) {
+			undoStack = Arrays.copyOf(undoStack, undoStack.length * 2);
+		}
+		int index = undoCount++ * UNDO_ENTRY_SIZE;
+		undoStack[index] = (captured + 1) | (castlingRights << 4) | ((long) (enPassantSquare + 1) << 8)
+				| ((halfmoveClock & 0xFFFFFFFFL) << 16) | (checkInfoValid ? CHECK_INFO_SAVED : 0)
+				| (attackMapsValid ? ATTACK_MAPS_SAVED : 0);
+		undoStack[index + 1] = key;
+		undoStack[index + 2] = attackMaps[WHITE];
+		undoStack[index + 3] = attackMaps[BLACK];
+		undoStack[index + 4] = checkers;
+		undoStack[index + 5] = pinned;
+	}
+
+	private void restoreUndo(long state) {
+		int index = undoCount * UNDO_ENTRY_SIZE;
+		castlingRights = (int) (state >>> 4) & 0xF;
+		enPassantSquare = (int) ((state >>> 8) & 0xFF) - 1;
+		halfmoveClock = (int) ((state >>> 16) & 0xFFFFFFFFL);
+		key = undoStack[index + 1];
+		attackMaps[WHITE] = undoStack[index + 2];
+		attackMaps[BLACK] = undoStack[index + 3];
+		checkers = undoStack[index + 4];
+		pinned = undoStack[index + 5];
+		checkInfoValid = (state & CHECK_INFO_SAVED) != 0;
+		attackMapsValid = (state & ATTACK_MAPS_SAVED) != 0;
+	}
+
+	/** Puts a piece code on an empty square without touching the key. */
+	private void place(int square, int code) {
+		long squareBit = bit(square);
+		pieceBitboards[code] |= squareBit;
+		colorBitboards[colorOf(code)] |= squareBit;
+		occupied |= squareBit;
+		mailbox[square] = code;
+	}
+
+	/** Empties an occupied square without touching the key. */
+	private void lift(int square) {
+		int code = mailbox[square];
+		long squareBit = bit(square);
+		pieceBitboards[code] &= ~squareBit;
+		colorBitboards[colorOf(code)] &= ~squareBit;
+		occupied &= ~squareBit;
+		mailbox[square] = EMPTY;
+	}
+
+	// ====== QUERIES ======
+
+	/**
+	 * @return the piece code on the square, or EMPTY
+	 */
+	public int getPiece(int square) {
+		return mailbox[square];
+	}
+
+	/**
+	 * @return the type of the piece on the square, or EMPTY
+	 */
+	public int getPieceType(int square) {
+		int code = mailbox[square];
+		return code == EMPTY ? EMPTY : typeOf(code);
+	}
+
+	/**
+	 * @return the color of the piece on the square, or EMPTY
+	 */
+	public int getPieceColor(int square) {
+		int code = mailbox[square];
+		return code == EMPTY ? EMPTY : colorOf(code);
+	}
+
+	public boolean isOccupied(int square) {
+		return (occupied & bit(square)) != 0;
+	}
+
+	public boolean isOccupied(int col, int row) {
+		return isWithinBoard(col, row) && isOccupied(square(col, row));
+	}
+
+	/**
+	 * @return the bitboard of every piece of the given color and type
+	 */
+	public long getPieces(int color, int type) {
+		return pieceBitboards[pieceCode(color, type)];
+	}
+
+	/**
+	 * @return the bitboard of every piece of the given color
+	 */
+	public long getColorOccupancy(int color) {
+		return colorBitboards[color];
+	}
+
+	/**
+	 * @return the bitboard of every occupied square
+	 */
+	public long getOccupancy() {
+		return occupied;
+	}
+
+	/**
+	 * @return true if the color has a knight, bishop, rook or queen
+	 */
+	public boolean hasNonPawnMaterial(int color) {
+		return (colorBitboards[color] & ~pieceBitboards[pieceCode(color, PAWN)]
+				& ~pieceBitboards[pieceCode(color, KING)]) != 0;
+	}
+
+	/**
+	 * @return the square of the given color's king, or 64 if it has none
+	 */
+	public int getKingSquare(int color) {
+		return Long.numberOfTrailingZeros(pieceBitboards[pieceCode(color, KING)]);
+	}
+
+	/**
+	 * Returns every piece of either color that attacks the square, treating
+	 * only the squares in the given occupancy as blockers.
+	 */
+	public long getAttackersTo(int square, long occupancy) {
+		return (Attacks.pawnAttacks(WHITE, square) & pieceBitboards[pieceCode(BLACK, PAWN)])
+				| (Attacks.pawnAttacks(BLACK, square) & pieceBitboards[pieceCode(WHITE, PAWN)])
+				| (Attacks.knightAttacks(square)
+						& (pieceBitboards[pieceCode(WHITE, KNIGHT)] | pieceBitboards[pieceCode(BLACK, KNIGHT)]))
+				| (Attacks.kingAttacks(square)
+						& (pieceBitboards[pieceCode(WHITE, KING)] | pieceBitboards[pieceCode(BLACK, KING)]))
+				| (Attacks.bishopAttacks(square, occupancy) & (pieceBitboards[pieceCode(WHITE, BISHOP)]
+						| pieceBitboards[pieceCode(BLACK, BISHOP)] | pieceBitboards[pieceCode(WHITE, QUEEN)]
+						| pieceBitboards[pieceCode(BLACK, QUEEN)]))
+				| (Attacks.rookAttacks(square, occupancy) & (pieceBitboards[pieceCode(WHITE, ROOK)]
+						| pieceBitboards[pieceCode(BLACK, ROOK)] | pieceBitboards[pieceCode(WHITE, QUEEN)]
+						| pieceBitboards[pieceCode(BLACK, QUEEN)]));
+	}
+
+	/**
+	 * @return true if any piece of the attacking color attacks the square
+	 */
+	public boolean isSquareAttacked(int square, int attackerColor) {
+		int defender = attackerColor ^ 1;
+		long queens = pieceBitboards[pieceCode(attackerColor, QUEEN)];
+		return (Attacks.pawnAttacks(defender, square) & pieceBitboards[pieceCode(attackerColor, PAWN)]) != 0
+				|| (Attacks.knightAttacks(square) & pieceBitboards[pieceCode(attackerColor, KNIGHT)]) != 0
+				|| (Attacks.kingAttacks(square) & pieceBitboards[pieceCode(attackerColor, KING)]) != 0
+				|| (Attacks.bishopAttacks(square, occupied)
+						& (pieceBitboards[pieceCode(attackerColor, BISHOP)] | queens)) != 0
+				|| (Attacks.rookAttacks(square, occupied)
+						& (pieceBitboards[pieceCode(attackerColor, ROOK)] | queens)) != 0;
+	}
+
+	/**
+	 * @return true if the side to move's king is attacked
+	 */
+	public boolean isInCheck() {
+		return getCheckers() != 0;
+	}
+
+	// ====== ATTACK INFORMATION ======
+	// Computed on first use after the pieces or the side to move change, saved
+	// on the undo stack by makeMove and restored by unmakeMove, so asking again
+	// at the same node, or after returning to it, is a field read
+
+	/**
+	 * Computes the attack information now. Asking for it fills these caches, so
+	 * a position that several threads read at once must have them filled
+	 * before it is shared.
+	 */
+	public void fillCaches() {
+		getCheckers();
+		getAttacks(WHITE);
+	}
+
+	/**
+	 * @return the enemy pieces attacking the side to move's king
+	 */
+	public long getCheckers() {
+		if (!checkInfoValid) {
+			computeCheckInfo();
+		}
+		return checkers;
+	}
+
+	/**
+	 * @return the side to move's pieces that stand alone between their king and
+	 *         an enemy slider, and so may only move along that line
+	 */
+	public long getPinned() {
+		if (!checkInfoValid) {
+			computeCheckInfo();
+		}
+		return pinned;
+	}
+
+	/**
+	 * Returns every square the color attacks. Sliders see through the enemy
+	 * king, so a square behind the king on an attacking line counts as attacked
+	 * and the king cannot escape a check by stepping along it.
+	 */
+	public long getAttacks(int color) {
+		if (!attackMapsValid) {
+			attackMaps[WHITE] = computeAttacks(WHITE);
+			attackMaps[BLACK] = computeAttacks(BLACK);
+			attackMapsValid = true;
+		}
+		return attackMaps[color];
+	}
+
+	private void computeCheckInfo() {
+		int us = sideToMove;
+		int them = us ^ 1;
+		int kingSquare = getKingSquare(us);
+		checkers = 0L;
+		pinned = 0L;
+		if (kingSquare < 64) {
+			checkers = getAttackersTo(kingSquare, occupied) & colorBitboards[them];
+			long queens = pieceBitboards[pieceCode(them, QUEEN)];
+			long snipers = (Attacks.rookAttacks(kingSquare, 0L) & (pieceBitboards[pieceCode(them, ROOK)] | queens))
+					| (Attacks.bishopAttacks(kingSquare, 0L) & (pieceBitboards[pieceCode(them, BISHOP)] | queens));
+			while (snipers != 0) {
+				int sniper = Long.numberOfTrailingZeros(snipers);
+				snipers &= snipers - 1;
+				long blockers = Attacks.between(kingSquare, sniper) & occupied;
+				if (blockers != 0 && (blockers & (blockers - 1)) == 0 && (blockers & colorBitboards[us]) != 0) {
+					pinned |= blockers;
+				}
+			}
+		}
+		checkInfoValid = true;
+	}
+
+	private long computeAttacks(int color) {
+		long occupancy = occupied & ~pieceBitboards[pieceCode(color ^ 1, KING)];
+		long pawns = pieceBitboards[pieceCode(color, PAWN)];
+		// White pawns attack toward row 0 (lower squares), black toward row 7
+		long attacks = color == WHITE ? ((pawns >>> 7) & ~FILE_A) | ((pawns >>> 9) & ~FILE_H)
+				: ((pawns << 9) & ~FILE_A) | ((pawns << 7) & ~FILE_H);
+		long knights = pieceBitboards[pieceCode(color, KNIGHT)];
+		while (knights != 0) {
+			attacks |= Attacks.knightAttacks(Long.numberOfTrailingZeros(knights));
+			knights &= knights - 1;
+		}
+		long queens = pieceBitboards[pieceCode(color, QUEEN)];
+		long diagonal = pieceBitboards[pieceCode(color, BISHOP)] | queens;
+		while (diagonal != 0) {
+			attacks |= Attacks.bishopAttacks(Long.numberOfTrailingZeros(diagonal), occupancy);
+			diagonal &= diagonal - 1;
+		}
+		long straight = pieceBitboards[pieceCode(color, ROOK)] | queens;
+		while (straight != 0) {
+			attacks |= Attacks.rookAttacks(Long.numberOfTrailingZeros(straight), occupancy);
+			straight &= straight - 1;
+		}
+		long king = pieceBitboards[pieceCode(color, KING)];
+		if (king != 0) {
+			attacks |= Attacks.kingAttacks(Long.numberOfTrailingZeros(king));
+		}
+		return attacks;
+	}
+
+	private void invalidateAttackInfo() {
+		checkInfoValid = false;
+		attackMapsValid = false;
+	}
+
+	/**
+	 * @return the Zobrist key, maintained incrementally as pieces and state change
+	 */
+	public long getKey() {
+		return key;
+	}
+
+	/**
+	 * Computes the Zobrist key from scratch. Normally getKey is used instead;
+	 * this is for loading positions and for checking the incremental updates.
+	 */
+	public long computeKey() {
+		long fullKey = 0L;
+		long pieces = occupied;
+		while (pieces != 0) {
+			int square = Long.numberOfTrailingZeros(pieces);
+			pieces &= pieces - 1;
+			fullKey ^= Zobrist.pieceSquare(mailbox[square], square);
+		}
+		if (sideToMove == BLACK) {
+			fullKey ^= Zobrist.sideToMove();
+		}
+		return fullKey ^ Zobrist.castling(castlingRights) ^ Zobrist.enPassant(enPassantSquare);
+	}
+
+	// ====== GETTER AND SETTER METHODS ======
+
+	/**
+	 * @return the sideToMove
+	 */
+	public int getSideToMove() {
+		return sideToMove;
+	}
+
+	/**
+	 * @param sideToMove the sideToMove to set
+	 */
+	public void setSideToMove(int sideToMove) {
+		if (sideToMove != this.sideToMove) {
+			key ^= Zobrist.sideToMove();
+			checkInfoValid = false;
+		}
+		this.sideToMove = sideToMove;
+	}
+
+	/**
+	 * @return the castlingRights
+	 */
+	public int getCastlingRights() {
+		return castlingRights;
+	}
+
+	/**
+	 * @param castlingRights the castlingRights to set
+	 */
+	public void setCastlingRights(int castlingRights) {
+		key ^= Zobrist.castling(this.castlingRights) ^ Zobrist.castling(castlingRights);
+		this.castlingRights = castlingRights;
+	}
+
+	/**
+	 * @return the enPassantSquare
+	 */
+	public int getEnPassantSquare() {
+		return enPassantSquare;
+	}
+
+	/**
+	 * @param enPassantSquare the enPassantSquare to set
+	 */
+	public void setEnPassantSquare(int enPassantSquare) {
+		key ^= Zobrist.enPassant(this.enPassantSquare) ^ Zobrist.enPassant(enPassantSquare);
+		this.enPassantSquare = enPassantSquare;
+	}
+
+	/**
+	 * @return the halfmoveClock
+	 */
+	public int getHalfmoveClock() {
+		return halfmoveClock;
+	}
+
+	/**
+	 * @param halfmoveClock the halfmoveClock to set
+	 */
+	public void setHalfmoveClock(int halfmoveClock) {
+		this.halfmoveClock = halfmoveClock;
+	}
+
+	/**
+	 * @return the fullmoveNumber
+	 */
+	public int getFullmoveNumber() {
+		return fullmoveNumber;
+	}
+
+	/**
+	 * @param fullmoveNumber the fullmoveNumber to set
+	 */
+	public void setFullmoveNumber(int fullmoveNumber) {
+		this.fullmoveNumber = fullmoveNumber;
+	}
+
+}
@@ -15,17 +15,10 @@ public class Queen extends Piece {
 
 	public Queen(int color, int col, int row) {
 		super(color, col, row);
-		// Set different images for white and black
-		if (isWhite(color)) {
-			setPieceImage(getPieceImage("/piece/w-queen"));
-		} else {
-			setPieceImage(getPieceImage("/piece/b-queen"));
-		}
 	}
 
 	@Override
-	public boolean isLegalMove(int targetColumn, int targetRow) {
-		return (isStraightPathClear(targetColumn, targetRow) || isDiagonalPathClear(targetColumn, targetRow))
-				&& isDestinationValid(targetColumn, targetRow);
+	public int getPieceType() {
+		return Position.QUEEN;
 	}
 }
@@ -15,21 +15,10 @@ public class Rook extends Piece {
 
 	public Rook(int color, int col, int row) {
 		super(color, col, row);
-		// Set different images for white and black
-		if (isWhite(color)) {
-			setPieceImage(getPieceImage("/piece/w-rook"));
-		} else {
-			setPieceImage(getPieceImage("/piece/b-rook"));
-		}
 	}
 
 	@Override
-	public boolean isLegalMove(int targetColumn, int targetRow) {
-		// 1) Check that the path is a clear straight line
-		if (!isStraightPathClear(targetColumn, targetRow)) {
-			return false;
-		}
-		// 2) And that the destination is empty or holds an opponent
-		return isDestinationValid(targetColumn, targetRow);
+	public int getPieceType() {
+		return Position.ROOK;
 	}
-}
\ No newline at end of file
+}
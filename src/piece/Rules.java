@@ -0,0 +1,201 @@
+package piece;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Side-effect-free move rules. Every method only reads the pieces and state
+ * of the Position it is given and answers with a value, so the same position
+ * can be asked about speculatively while a piece is dragged, or with the
+ * answer cached, without anything changing underneath. The position's attack
+ * caches are filled on first use; a position asked about from several threads
+ * at once must have them filled first (Position.fillCaches).
+ *
+ * The answer to "may the piece on this square go to that square" is the move
+ * itself, encoded exactly as MoveGenerator encodes it: the flags say whether
+ * it captures (and Move.capturedSquare says where, which differs from the
+ * target square for en passant), whether it is a double pawn push, castling or
+ * a promotion. Move.NONE means the piece rules do not allow it.
+ *
+ * Check, pins and attacked squares come from the attack information Position
+ * caches per node, so asking about every square under a dragged piece, or
+ * about the game state after every move, stays cheap.
+ */
+public final class Rules {
+
+	// Game states returned by getStatus
+	public static final int IN_PROGRESS = 0;
+	public static final int CHECK = 1;
+	public static final int CHECKMATE = 2;
+	public static final int STALEMATE = 3;
+
+	private Rules() {
+	}
+
+	/**
+	 * @return IN_PROGRESS, CHECK, CHECKMATE or STALEMATE for the side to move
+	 */
+	public static int getStatus(Position position) {
+		boolean inCheck = position.isInCheck();
+		if (MoveGenerator.hasLegalMove(position)) {
+			return inCheck ? CHECK : IN_PROGRESS;
+		}
+		return inCheck ? CHECKMATE : STALEMATE;
+	}
+
+	/**
+	 * Finds a fully legal move of the side to move: like findMove, but the piece
+	 * must belong to the side to move and the move must not leave its own king
+	 * attacked.
+	 *
+	 * @return the encoded move, or Move.NONE if it is not legal
+	 */
+	public static int findLegalMove(Position position, int from, int to) {
+		return findLegalMove(position, from, to, Position.QUEEN);
+	}
+
+	/**
+	 * Finds a fully legal move of the side to move with the given promotion
+	 * piece.
+	 *
+	 * @return the encoded move, or Move.NONE if it is not legal
+	 */
+	public static int findLegalMove(Position position, int from, int to, int promotionType) {
+		if (position.getPieceColor(from) != position.getSideToMove()) {
+			return Move.NONE;
+		}
+		int move = findMove(position, from, to, promotionType);
+		return move != Move.NONE && MoveGenerator.isLegal(position, move) ? move : Move.NONE;
+	}
+
+	/**
+	 * Reads a move in long algebraic (UCI) notation such as "e2e4" or "e7e8q"
+	 * and checks it against the position.
+	 *
+	 * @return the encoded move, or Move.NONE if the text is malformed or the
+	 *         move is not legal
+	 */
+	public static int parseUci(Position position, String text) {
+		if (text.length() < 4 || text.length() > 5) {
+			return Move.NONE;
+		}
+		int from = Move.parseSquare(text.substring(0, 2));
+		int to = Move.parseSquare(text.substring(2, 4));
+		int promotionType = Position.QUEEN;
+		if (text.length() == 5) {
+			int index = "nbrq".indexOf(text.charAt(4));
+			if (index < 0) {
+				return Move.NONE;
+			}
+			promotionType = Position.KNIGHT + index;
+		}
+		if (from == Position.NO_SQUARE || to == Position.NO_SQUARE) {
+			return Move.NONE;
+		}
+		int move = findLegalMove(position, from, to, promotionType);
+		// A promotion must name its piece and any other move must not
+		if (move != Move.NONE && Move.isPromotion(move) != (text.length() == 5)) {
+			return Move.NONE;
+		}
+		return move;
+	}
+
+	/**
+	 * Finds the move of the piece on one square to another, promoting to a
+	 * queen when a pawn reaches the last rank.
+	 *
+	 * @return the encoded move, or Move.NONE if the piece rules do not allow it
+	 */
+	public static int findMove(Position position, int from, int to) {
+		return findMove(position, from, to, Position.QUEEN);
+	}
+
+	/**
+	 * Finds the move of the piece on one square to another. The piece's own
+	 * rules are checked (direction, blocking pieces, capturing only enemy
+	 * pieces, castling conditions); whose turn it is and whether the move leaves
+	 * the king attacked are not.
+	 *
+	 * @param promotionType the piece type a pawn reaching the last rank becomes
+	 * @return the encoded move, or Move.NONE if the piece rules do not allow it
+	 */
+	public static int findMove(Position position, int from, int to, int promotionType) {
+		int code = position.getPiece(from);
+		if (code == Position.EMPTY || from == to) {
+			return Move.NONE;
+		}
+		int us = Position.colorOf(code);
+		int type = Position.typeOf(code);
+		long target = Position.bit(to);
+		if ((position.getColorOccupancy(us) & target) != 0) {
+			return Move.NONE;
+		}
+		boolean capture = (position.getColorOccupancy(us ^ 1) & target) != 0;
+
+		if (type == Position.PAWN) {
+			return findPawnMove(position, us, from, to, capture, promotionType);
+		}
+		if (type == Position.KING && Math.abs(to - from) == 2 && Position.rowOf(from) == Position.rowOf(to)) {
+			boolean kingside = to > from;
+			return MoveGenerator.canCastle(position, us, kingside)
+					? Move.create(from, to, kingside ? Move.KING_CASTLE : Move.QUEEN_CASTLE)
+					: Move.NONE;
+		}
+		if ((Attacks.attacks(type, us, from, position.getOccupancy()) & target) == 0) {
+			return Move.NONE;
+		}
+		return Move.create(from, to, capture ? Move.CAPTURE : Move.QUIET);
+	}
+
+	/**
+	 * @return true if the move is exactly what findMove returns for its squares
+	 *         and promotion piece, so it can be played on this position
+	 */
+	public static boolean isPseudoLegal(Position position, int move) {
+		if (move == Move.NONE) {
+			return false;
+		}
+		int promotionType = Move.isPromotion(move) ? Move.promotionType(move) : Position.QUEEN;
+		return findMove(position, Move.from(move), Move.to(move), promotionType) == move;
+	}
+
+	private static int findPawnMove(Position position, int us, int from, int to, boolean capture,
+			int promotionType) {
+		// White pawns move toward row 0, black pawns toward row 7
+		int forward = us == Position.WHITE ? -8 : 8;
+		int startRow = us == Position.WHITE ? 6 : 1;
+		int promotionRow = us == Position.WHITE ? 0 : 7;
+		long occupied = position.getOccupancy();
+		int flags;
+
+		if (to == from + forward && !capture) {
+			flags = Move.QUIET;
+		} else if (to == from + 2 * forward && Position.rowOf(from) == startRow
+				&& (occupied & (Position.bit(from + forward) | Position.bit(to))) == 0) {
+			return Move.create(from, to, Move.DOUBLE_PAWN_PUSH);
+		} else if ((Attacks.pawnAttacks(us, from) & Position.bit(to)) != 0) {
+			if (capture) {
+				flags = Move.CAPTURE;
+			} else if (to == position.getEnPassantSquare()) {
+				return Move.create(from, to, Move.EN_PASSANT);
+			} else {
+				return Move.NONE;
+			}
+		} else {
+			return Move.NONE;
+		}
+
+		if (Position.rowOf(to) == promotionRow) {
+			flags |= Move.PROMOTION + (promotionType - Position.KNIGHT);
+		}
+		return Move.create(from, to, flags);
+	}
+}
@@ -0,0 +1,228 @@
+package piece;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Standard Algebraic Notation (SAN), the move notation of PGN and EPD files,
+ * e.g. "e4", "Nbd7", "exd5", "O-O", "e8=Q+" or "Qxf7#".
+ *
+ * Reading is forgiving about what writers disagree on: check and annotation
+ * suffixes (+ # ! ?) are ignored, castling may be written with zeros, and the
+ * "=" before a promotion piece is optional. Moves are always checked against
+ * the legal moves of the position.
+ */
+public final class San {
+
+	// Piece letters in Position type order; pawns have none
+	private static final String PIECE_LETTERS = " NBRQK";
+
+	private San() {
+	}
+
+	/**
+	 * Reads a move in SAN. Only the pieces that could reach the target square
+	 * are tried, each with Rules.findMove and MoveGenerator.isLegal, so no move
+	 * list is generated and nothing is allocated for the common moves.
+	 *
+	 * @return the encoded move, or Move.NONE if the text is malformed, matches no
+	 *         legal move or is ambiguous
+	 */
+	public static int parse(Position position, String text) {
+		String san = strip(text);
+		if (san.equals("O-O") || san.equals("0-0")) {
+			return findCastle(position, true);
+		}
+		if (san.equals("O-O-O") || san.equals("0-0-0")) {
+			return findCastle(position, false);
+		}
+
+		// Promotion suffix: "e8=Q" or "e8Q"
+		int promotionType = Position.EMPTY;
+		int length = san.length();
+		if (length >= 3 && "NBRQ".indexOf(san.charAt(length - 1)) >= 0 && Character.isDigit(san.charAt(length - 2))
+				|| length >= 4 && san.charAt(length - 2) == '=') {
+			promotionType = PIECE_LETTERS.indexOf(san.charAt(length - 1));
+			if (promotionType <= Position.PAWN || promotionType == Position.KING) {
+				return Move.NONE;
+			}
+			length -= san.charAt(length - 2) == '=' ? 2 : 1;
+		}
+		if (length < 2) {
+			return Move.NONE;
+		}
+		int toCol = san.charAt(length - 2) - 'a';
+		int toRow = '8' - san.charAt(length - 1);
+		if (!Position.isWithinBoard(toCol, toRow)) {
+			return Move.NONE;
+		}
+		int to = Position.square(toCol, toRow);
+
+		// What is left before the target square: piece letter, hints, capture sign
+		int type = Position.PAWN;
+		int index = 0;
+		if (length > 2 && PIECE_LETTERS.indexOf(san.charAt(0)) > 0) {
+			type = PIECE_LETTERS.indexOf(san.charAt(0));
+			index = 1;
+		}
+		int fromCol = -1;
+		int fromRow = -1;
+		for (; index < length - 2; index++) {
+			char symbol = san.charAt(index);
+			if (symbol >= 'a' && symbol <= 'h') {
+				fromCol = symbol - 'a';
+			} else if (symbol >= '1' && symbol <= '8') {
+				fromRow = '8' - symbol;
+			} else if (symbol != 'x' && symbol != ':') {
+				return Move.NONE;
+			}
+		}
+		if (promotionType != Position.EMPTY && type != Position.PAWN) {
+			return Move.NONE;
+		}
+		// A pawn move without a file is a push; captures always name the file
+		if (type == Position.PAWN && fromCol < 0) {
+			fromCol = toCol;
+		}
+
+		// The pieces of that type that could move to the target square
+		int us = position.getSideToMove();
+		long candidates;
+		if (type == Position.PAWN) {
+			int forward = us == Position.WHITE ? -8 : 8;
+			candidates = Attacks.pawnAttacks(us ^ 1, to);
+			if (to - forward >= 0 && to - forward < 64) {
+				candidates |= Position.bit(to - forward);
+			}
+			if (to - 2 * forward >= 0 && to - 2 * forward < 64) {
+				candidates |= Position.bit(to - 2 * forward);
+			}
+		} else {
+			candidates = Attacks.attacks(type, us, to, position.getOccupancy());
+		}
+		candidates &= position.getPieces(us, type);
+
+		int found = Move.NONE;
+		while (candidates != 0) {
+			int from = Long.numberOfTrailingZeros(candidates);
+			candidates &= candidates - 1;
+			if (fromCol >= 0 && Position.colOf(from) != fromCol || fromRow >= 0 && Position.rowOf(from) != fromRow) {
+				continue;
+			}
+			int move = Rules.findMove(position, from, to,
+					promotionType == Position.EMPTY ? Position.QUEEN : promotionType);
+			if (move == Move.NONE || Move.isCastle(move) || Move.isPromotion(move) != (promotionType != Position.EMPTY)
+					|| !MoveGenerator.isLegal(position, move)) {
+				continue;
+			}
+			if (found != Move.NONE) {
+				return Move.NONE;
+			}
+			found = move;
+		}
+		return found;
+	}
+
+	/**
+	 * Writes a legal move of the position in SAN, with the shortest
+	 * disambiguation and a check (+) or mate (#) suffix. The move is played and
+	 * taken back on the position to find the suffix, so the position ends up
+	 * unchanged.
+	 *
+	 * @return the move in SAN
+	 */
+	public static String toSan(Position position, int move) {
+		int from = Move.from(move);
+		int to = Move.to(move);
+		int type = position.getPieceType(from);
+		StringBuilder san = new StringBuilder(8);
+
+		if (Move.isCastle(move)) {
+			san.append(Move.flags(move) == Move.KING_CASTLE ? "O-O" : "O-O-O");
+		} else if (type == Position.PAWN) {
+			if (Move.isCapture(move)) {
+				san.append((char) ('a' + Position.colOf(from))).append('x');
+			}
+			san.append(Move.squareName(to));
+			if (Move.isPromotion(move)) {
+				san.append('=').append(PIECE_LETTERS.charAt(Move.promotionType(move)));
+			}
+		} else {
+			san.append(PIECE_LETTERS.charAt(type));
+			appendDisambiguation(position, move, type, san);
+			if (Move.isCapture(move)) {
+				san.append('x');
+			}
+			san.append(Move.squareName(to));
+		}
+
+		position.makeMove(move);
+		if (position.isInCheck()) {
+			san.append(MoveGenerator.hasLegalMove(position) ? '+' : '#');
+		}
+		position.unmakeMove(move);
+		return san.toString();
+	}
+
+	/**
+	 * Adds the file, the rank, or both of the moving piece when another piece of
+	 * the same type can also legally go to the target square.
+	 */
+	private static void appendDisambiguation(Position position, int move, int type, StringBuilder san) {
+		int from = Move.from(move);
+		int[] moves = new int[MoveGenerator.MAX_MOVES];
+		int count = MoveGenerator.generateLegal(position, moves);
+		boolean ambiguous = false;
+		boolean sameCol = false;
+		boolean sameRow = false;
+		for (int index = 0; index < count; index++) {
+			int other = Move.from(moves[index]);
+			if (other == from || Move.to(moves[index]) != Move.to(move) || position.getPieceType(other) != type) {
+				continue;
+			}
+			ambiguous = true;
+			sameCol |= Position.colOf(other) == Position.colOf(from);
+			sameRow |= Position.rowOf(other) == Position.rowOf(from);
+		}
+		if (!ambiguous) {
+			return;
+		}
+		if (!sameCol) {
+			san.append((char) ('a' + Position.colOf(from)));
+		} else if (!sameRow) {
+			san.append((char) ('8' - Position.rowOf(from)));
+		} else {
+			san.append(Move.squareName(from));
+		}
+	}
+
+	private static int findCastle(Position position, boolean kingside) {
+		int from = position.getKingSquare(position.getSideToMove());
+		int to = kingside ? from + 2 : from - 2;
+		if (to < 0 || to >= 64 || Position.rowOf(to) != Position.rowOf(from)) {
+			return Move.NONE;
+		}
+		int move = Rules.findMove(position, from, to);
+		return Move.isCastle(move) && MoveGenerator.isLegal(position, move) ? move : Move.NONE;
+	}
+
+	/**
+	 * @return the text without surrounding spaces and check or annotation marks
+	 */
+	private static String strip(String text) {
+		String san = text.trim();
+		int end = san.length();
+		while (end > 0 && "+#!?".indexOf(san.charAt(end - 1)) >= 0) {
+			end--;
+		}
+		return san.substring(0, end);
+	}
+}
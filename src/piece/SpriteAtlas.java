@@ -0,0 +1,107 @@
+package piece;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.stream.IntStream;
+
+import javax.imageio.ImageIO;
+
+import main.Board;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * The twelve piece images, shared by every piece of every game in the
+ * process. They are decoded in parallel and scaled to a square the first time
+ * a piece is drawn (or at preload), so games that are never drawn, e.g. on a
+ * server, never read an image. The window loads them in the background and
+ * draws placeholders until isLoaded.
+ */
+public final class SpriteAtlas {
+
+	// Image names in the order of the Position type and color numbers
+	private static final String[] TYPE_NAMES = { "pawn", "knight", "bishop", "rook", "queen", "king" };
+	private static final String[] COLOR_PREFIXES = { "w", "b" };
+
+	// Set once the images are decoded
+	private static volatile boolean loaded;
+
+	private SpriteAtlas() {
+	}
+
+	// Initialized by the first get; the JVM runs load exactly once
+	private static final class Holder {
+		static final BufferedImage[] SPRITES = load();
+		static {
+			loaded = true;
+		}
+	}
+
+	/**
+	 * @param color a Position color
+	 * @param type  a Position piece type
+	 * @return the piece image scaled to one square, or null if it could not be
+	 *         read
+	 */
+	public static BufferedImage get(int color, int type) {
+		return Holder.SPRITES[Position.pieceCode(color, type)];
+	}
+
+	/**
+	 * Decodes the images now instead of at the first draw.
+	 */
+	public static void preload() {
+		get(Position.WHITE, Position.PAWN);
+	}
+
+	/**
+	 * Decodes the images on a background thread, then runs whenLoaded on that
+	 * thread.
+	 */
+	public static void preloadInBackground(Runnable whenLoaded) {
+		Thread loader = new Thread(() -> {
+			preload();
+			whenLoaded.run();
+		}, "sprite-loader");
+		loader.setDaemon(true);
+		loader.start();
+	}
+
+	/**
+	 * @return true once get returns without waiting for the images to decode
+	 */
+	public static boolean isLoaded() {
+		return loaded;
+	}
+
+	// Runs in this class and not in Holder, so the decoding threads do not wait
+	// for Holder to finish initializing
+	private static BufferedImage[] load() {
+		BufferedImage[] sprites = new BufferedImage[COLOR_PREFIXES.length * TYPE_NAMES.length];
+		IntStream.range(0, sprites.length).parallel().forEach(code -> sprites[code] = read(
+				"/piece/" + COLOR_PREFIXES[Position.colorOf(code)] + "-" + TYPE_NAMES[Position.typeOf(code)] + ".png"));
+		return sprites;
+	}
+
+	private static BufferedImage read(String imagePath) {
+		try (InputStream in = SpriteAtlas.class.getResourceAsStream(imagePath)) {
+			if (in == null) {
+				throw new IOException("Missing image " + imagePath);
+			}
+			return Board.toSprite(ImageIO.read(in));
+		} catch (IOException e) { // catch if a unexpected request comes in
+			e.printStackTrace();
+			return null;
+		}
+	}
+}
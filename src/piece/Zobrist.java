@@ -0,0 +1,89 @@
+package piece;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Random 64-bit keys for Zobrist hashing. A position's key is the XOR of the
+ * key of every piece on its square, the side-to-move key when black is to
+ * move, the key of the current castling rights and the key of the en passant
+ * file. Because XOR undoes itself, a move only has to XOR in and out the keys
+ * of what it changes, so Position keeps its key up to date in O(1) per move.
+ *
+ * The keys come from a fixed seed so every run (and every saved hash) agrees.
+ */
+public final class Zobrist {
+
+	// Keys indexed by [piece code][square]
+	private static final long[][] PIECE_SQUARE = new long[12][64];
+	// Key XORed in when black is to move
+	private static final long SIDE_TO_MOVE;
+	// Keys for each of the 16 castling right combinations
+	private static final long[] CASTLING = new long[16];
+	// Keys for the file of the en passant square
+	private static final long[] EN_PASSANT_FILE = new long[8];
+
+	// State of the key generator
+	private static long seed = 0x9E3779B97F4A7C15L;
+
+	static {
+		for (int code = 0; code < 12; code++) {
+			for (int square = 0; square < 64; square++) {
+				PIECE_SQUARE[code][square] = nextRandom();
+			}
+		}
+		SIDE_TO_MOVE = nextRandom();
+		// One key per right; a combination is the XOR of its rights' keys
+		long[] rightKeys = { nextRandom(), nextRandom(), nextRandom(), nextRandom() };
+		for (int rights = 0; rights < 16; rights++) {
+			for (int right = 0; right < 4; right++) {
+				if ((rights & (1 << right)) != 0) {
+					CASTLING[rights] ^= rightKeys[right];
+				}
+			}
+		}
+		for (int file = 0; file < 8; file++) {
+			EN_PASSANT_FILE[file] = nextRandom();
+		}
+	}
+
+	private Zobrist() {
+	}
+
+	public static long pieceSquare(int pieceCode, int square) {
+		return PIECE_SQUARE[pieceCode][square];
+	}
+
+	public static long sideToMove() {
+		return SIDE_TO_MOVE;
+	}
+
+	public static long castling(int castlingRights) {
+		return CASTLING[castlingRights];
+	}
+
+	/**
+	 * @return the key of the en passant square's file, or 0 for
+	 *         Position.NO_SQUARE
+	 */
+	public static long enPassant(int enPassantSquare) {
+		return enPassantSquare == Position.NO_SQUARE ? 0L : EN_PASSANT_FILE[Position.colOf(enPassantSquare)];
+	}
+
+	private static long nextRandom() {
+		// splitmix64
+		seed += 0x9E3779B97F4A7C15L;
+		long value = seed;
+		value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+		value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+		return value ^ (value >>> 31);
+	}
+}
@@ -0,0 +1,342 @@
+package server;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import piece.Fen;
+import piece.Move;
+import piece.MoveGenerator;
+import piece.Position;
+import piece.Rules;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Headless chess server: hosts any number of independent games and accepts
+ * moves over a line-based TCP protocol on localhost. No window, GamePanel or
+ * Piece objects are involved; every game is a ServerGame with its own
+ * Position, and moves are checked with Rules.
+ *
+ * One thread runs an NIO selector over every connection, so thousands of
+ * clients and games cost a buffer each rather than a thread each. Any
+ * connection may address any game by its id.
+ *
+ * Requests and replies are single lines of ASCII text. Every reply starts
+ * with OK or ERR:
+ *
+ * <pre>
+ * NEW [fen]            OK id              start a game (default start position)
+ * MOVE id uci          OK status          play a move, e.g. MOVE 3 e2e4
+ * UNDO id              OK uci             take back the last move
+ * MOVES id             OK uci uci ...     list the legal moves
+ * STATUS id            OK side status n   side to move, status and moves played
+ * FEN id               OK fen             the current position in FEN
+ * END id               OK                 forget a game
+ * QUIT                 OK                 close the connection
+ * </pre>
+ *
+ * where status is one of ongoing, check, checkmate or stalemate.
+ *
+ * Usage: java server.GameServer [port]
+ */
+public class GameServer implements Runnable {
+
+	// Port used when none is given
+	public static final int DEFAULT_PORT = 7777;
+
+	// Longest request line accepted
+	private static final int MAX_LINE_LENGTH = 512;
+	private static final String[] STATUS_NAMES = { "ongoing", "check", "checkmate", "stalemate" };
+
+	// A GameServer has-a selector and serverChannel
+	private final Selector selector;
+	private final ServerSocketChannel serverChannel;
+	// A GameServer has-a games (every game by id; only the selector thread uses it)
+	private final Map<Integer, ServerGame> games = new HashMap<>();
+	private int nextGameId = 1;
+	// A GameServer has-a moveBuffer (move list for MOVES, reused per request)
+	private final int[] moveBuffer = new int[MoveGenerator.MAX_MOVES];
+	// A GameServer has-a running flag
+	private volatile boolean running = true;
+
+	/**
+	 * Binds the server to the port on the loopback address.
+	 *
+	 * @param port the port, or 0 for any free port
+	 */
+	public GameServer(int port) throws IOException {
+		selector = Selector.open();
+		serverChannel = ServerSocketChannel.open();
+		serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+		serverChannel.configureBlocking(false);
+		serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+	}
+
+	/**
+	 * @return the port the server listens on
+	 */
+	public int getPort() {
+		return serverChannel.socket().getLocalPort();
+	}
+
+	/**
+	 * @return the number of games currently hosted
+	 */
+	public int getGameCount() {
+		return games.size();
+	}
+
+	/** Stops the selector loop; run returns and the sockets are closed. */
+	public void shutdown() {
+		running = false;
+		selector.wakeup();
+	}
+
+	/**
+	 * Runs the selector loop until shutdown is called.
+	 */
+	@Override
+	public void run() {
+		try {
+			while (running) {
+				selector.select();
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					try {
+						if (!key.isValid()) {
+							continue;
+						}
+						if (key.isAcceptable()) {
+							accept();
+						} else {
+							if (key.isReadable()) {
+								read(key);
+							}
+							if (key.isValid() && key.isWritable()) {
+								write(key);
+							}
+						}
+					} catch (IOException e) {
+						close(key);
+					} catch (RuntimeException e) {
+						// One broken connection must not stop the other games
+						e.printStackTrace();
+						close(key);
+					}
+				}
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		} finally {
+			for (SelectionKey key : selector.keys()) {
+				close(key);
+			}
+			try {
+				selector.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private void accept() throws IOException {
+		SocketChannel channel;
+		while ((channel = serverChannel.accept()) != null) {
+			channel.configureBlocking(false);
+			channel.socket().setTcpNoDelay(true);
+			channel.register(selector, SelectionKey.OP_READ, new Connection());
+		}
+	}
+
+	private void read(SelectionKey key) throws IOException {
+		SocketChannel channel = (SocketChannel) key.channel();
+		Connection connection = (Connection) key.attachment();
+		if (channel.read(connection.input) < 0) {
+			close(key);
+			return;
+		}
+
+		// Answer every complete line in the input buffer
+		ByteBuffer input = connection.input;
+		input.flip();
+		int lineStart = 0;
+		for (int index = 0; index < input.limit(); index++) {
+			if (input.get(index) == '\n') {
+				int end = index > lineStart && input.get(index - 1) == '\r' ? index - 1 : index;
+				String line = new String(input.array(), lineStart, end - lineStart, StandardCharsets.US_ASCII);
+				lineStart = index + 1;
+				if (line.trim().equalsIgnoreCase("QUIT")) {
+					connection.reply("OK");
+					connection.closeAfterWrite = true;
+					break;
+				}
+				connection.reply(handle(line));
+			}
+		}
+		input.position(lineStart);
+		input.compact();
+		if (!input.hasRemaining()) {
+			connection.reply("ERR line too long");
+			connection.closeAfterWrite = true;
+			input.clear();
+		}
+		write(key);
+	}
+
+	private void write(SelectionKey key) throws IOException {
+		SocketChannel channel = (SocketChannel) key.channel();
+		Connection connection = (Connection) key.attachment();
+		ByteBuffer output = connection.output;
+		output.flip();
+		channel.write(output);
+		output.compact();
+		if (output.position() > 0) {
+			key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+		} else if (connection.closeAfterWrite) {
+			close(key);
+		} else {
+			key.interestOps(SelectionKey.OP_READ);
+		}
+	}
+
+	private static void close(SelectionKey key) {
+		key.cancel();
+		try {
+			key.channel().close();
+		} catch (IOException e) {
+			// Already closed by the peer
+		}
+	}
+
+	// ====== PROTOCOL ======
+
+	/**
+	 * Answers one request line. A request that fails unexpectedly gets an ERR
+	 * reply; the server and its other games go on.
+	 *
+	 * @return the reply line without the line terminator
+	 */
+	String handle(String line) {
+		try {
+			return answer(line);
+		} catch (RuntimeException e) {
+			e.printStackTrace();
+			return "ERR internal error: " + e;
+		}
+	}
+
+	private String answer(String line) {
+		String[] words = line.trim().split("\\s+", 3);
+		String command = words[0].toUpperCase();
+		if (command.equals("NEW")) {
+			String fen = line.trim().length() > 3 ? line.trim().substring(3).trim() : Fen.START_POSITION;
+			try {
+				ServerGame game = new ServerGame(nextGameId, fen);
+				games.put(nextGameId, game);
+				return "OK " + nextGameId++;
+			} catch (IllegalArgumentException e) {
+				return "ERR " + e.getMessage();
+			}
+		}
+		if (words.length < 2) {
+			return "ERR unknown command or missing game id: " + line;
+		}
+		ServerGame game;
+		try {
+			game = games.get(Integer.parseInt(words[1]));
+		} catch (NumberFormatException e) {
+			game = null;
+		}
+		if (game == null) {
+			return "ERR no game " + words[1];
+		}
+		Position position = game.getPosition();
+
+		switch (command) {
+		case "MOVE":
+			if (words.length < 3) {
+				return "ERR MOVE needs a move";
+			}
+			if (Rules.getStatus(position) >= Rules.CHECKMATE) {
+				return "ERR game is over";
+			}
+			int move = Rules.parseUci(position, words[2].trim());
+			if (move == Move.NONE) {
+				return "ERR illegal move " + words[2].trim();
+			}
+			game.play(move);
+			return "OK " + STATUS_NAMES[Rules.getStatus(position)];
+		case "UNDO":
+			int undone = game.undo();
+			return undone == Move.NONE ? "ERR no move to undo" : "OK " + Move.toUci(undone);
+		case "MOVES":
+			int count = MoveGenerator.generateLegal(position, moveBuffer);
+			StringBuilder reply = new StringBuilder("OK");
+			for (int index = 0; index < count; index++) {
+				reply.append(' ').append(Move.toUci(moveBuffer[index]));
+			}
+			return reply.toString();
+		case "STATUS":
+			return "OK " + (position.getSideToMove() == Position.WHITE ? "white " : "black ")
+					+ STATUS_NAMES[Rules.getStatus(position)] + " " + game.getMoveCount();
+		case "FEN":
+			return "OK " + Fen.toFen(position);
+		case "END":
+			games.remove(game.getId());
+			return "OK";
+		default:
+			return "ERR unknown command " + words[0];
+		}
+	}
+
+	/**
+	 * Buffers of one client connection.
+	 */
+	private static final class Connection {
+		// A Connection has-a input (bytes read but not yet answered) and output
+		// (replies not yet written)
+		private final ByteBuffer input = ByteBuffer.allocate(MAX_LINE_LENGTH);
+		private ByteBuffer output = ByteBuffer.allocate(4096);
+		// A Connection has-a closeAfterWrite flag (set by QUIT)
+		private boolean closeAfterWrite;
+
+		void reply(String line) {
+			byte[] bytes = (line + "\n").getBytes(StandardCharsets.US_ASCII);
+			if (output.remaining() < bytes.length) {
+				ByteBuffer larger = ByteBuffer.allocate(Math.max(output.capacity() * 2, output.position() + bytes.length));
+				output.flip();
+				larger.put(output);
+				output = larger;
+			}
+			output.put(bytes);
+		}
+	}
+
+	public static void main(String[] args) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		GameServer server = new GameServer(port);
+		System.out.println("Chess server listening on localhost:" + server.getPort());
+		server.run();
+	}
+}
@@ -0,0 +1,210 @@
+package server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * Load test for the GameServer. Opens a number of connections, each playing
+ * random legal moves in its own set of games (asking MOVES, then sending one
+ * of them with MOVE) for a fixed time. Finished games are ended and replaced
+ * by new ones. At the end it prints the moves played per second and the
+ * latency percentiles of the MOVE requests.
+ *
+ * Without a port it starts a GameServer in the same JVM on a free port.
+ *
+ * Usage: java server.LoadTestClient [connections] [games per connection]
+ * [seconds] [port]
+ */
+public class LoadTestClient {
+
+	// Games are restarted after this many moves so they do not run forever
+	private static final int MAX_GAME_LENGTH = 200;
+	// Most latency samples kept per connection
+	private static final int MAX_SAMPLES = 1 << 20;
+
+	public static void main(String[] args) throws Exception {
+		int connections = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+		int gamesPerConnection = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+		GameServer embedded = null;
+		int port;
+		if (args.length > 3) {
+			port = Integer.parseInt(args[3]);
+		} else {
+			embedded = new GameServer(0);
+			port = embedded.getPort();
+			Thread serverThread = new Thread(embedded, "game-server");
+			serverThread.setDaemon(true);
+			serverThread.start();
+		}
+
+		System.out.println(connections + " connections x " + gamesPerConnection + " games for " + seconds
+				+ " s against localhost:" + port);
+		long deadline = System.nanoTime() + seconds * 1000000000L;
+		Player[] players = new Player[connections];
+		Thread[] threads = new Thread[connections];
+		for (int index = 0; index < connections; index++) {
+			players[index] = new Player(port, gamesPerConnection, deadline, index);
+			threads[index] = new Thread(players[index], "load-test-" + index);
+			threads[index].start();
+		}
+		long start = System.nanoTime();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+		// Merge the latency samples of every connection
+		int sampleCount = 0;
+		long moves = 0;
+		long finishedGames = 0;
+		int failures = 0;
+		for (Player player : players) {
+			sampleCount += player.sampleCount;
+			moves += player.moves;
+			finishedGames += player.finishedGames;
+			failures += player.failure != null ? 1 : 0;
+			if (player.failure != null) {
+				System.out.println("connection failed: " + player.failure);
+			}
+		}
+		long[] latencies = new long[sampleCount];
+		int offset = 0;
+		for (Player player : players) {
+			System.arraycopy(player.latencies, 0, latencies, offset, player.sampleCount);
+			offset += player.sampleCount;
+		}
+		Arrays.sort(latencies);
+
+		System.out.printf("moves %d in %.2f s: %.0f moves/s, %d games finished, %d failed connections%n", moves,
+				elapsedSeconds, moves / elapsedSeconds, finishedGames, failures);
+		if (sampleCount > 0) {
+			System.out.printf("MOVE latency: p50 %.1f us, p90 %.1f us, p99 %.1f us, max %.1f us%n",
+					percentile(latencies, 50) / 1e3, percentile(latencies, 90) / 1e3, percentile(latencies, 99) / 1e3,
+					latencies[sampleCount - 1] / 1e3);
+		}
+		if (embedded != null) {
+			System.out.println("games still hosted: " + embedded.getGameCount());
+			embedded.shutdown();
+		}
+	}
+
+	private static long percentile(long[] sorted, int percent) {
+		int index = (int) Math.ceil(sorted.length * percent / 100.0) - 1;
+		return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+	}
+
+	/**
+	 * One connection playing random moves in its games until the deadline.
+	 */
+	private static final class Player implements Runnable {
+		// A Player has-a port, game count, deadline and random source
+		private final int port;
+		private final int gameCount;
+		private final long deadline;
+		private final SplittableRandom random;
+		// A Player has-a latencies (MOVE round trips in nanoseconds) and counters
+		private long[] latencies = new long[4096];
+		private int sampleCount;
+		private long moves;
+		private long finishedGames;
+		private Exception failure;
+
+		// Connection state, only used by the player's own thread
+		private BufferedReader reader;
+		private Writer writer;
+
+		Player(int port, int gameCount, long deadline, long seed) {
+			this.port = port;
+			this.gameCount = gameCount;
+			this.deadline = deadline;
+			this.random = new SplittableRandom(seed);
+		}
+
+		@Override
+		public void run() {
+			try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+				socket.setTcpNoDelay(true);
+				reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+				writer = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII);
+				int[] gameIds = new int[gameCount];
+				int[] lengths = new int[gameCount];
+				for (int index = 0; index < gameCount; index++) {
+					gameIds[index] = Integer.parseInt(request("NEW").substring(3));
+				}
+				while (System.nanoTime() < deadline) {
+					for (int index = 0; index < gameCount && System.nanoTime() < deadline; index++) {
+						if (!playRandomMove(gameIds[index]) || ++lengths[index] >= MAX_GAME_LENGTH) {
+							request("END " + gameIds[index]);
+							gameIds[index] = Integer.parseInt(request("NEW").substring(3));
+							lengths[index] = 0;
+							finishedGames++;
+						}
+					}
+				}
+				for (int gameId : gameIds) {
+					request("END " + gameId);
+				}
+				request("QUIT");
+			} catch (IOException | RuntimeException e) {
+				failure = e;
+			}
+		}
+
+		/**
+		 * @return false if the game has ended
+		 */
+		private boolean playRandomMove(int gameId) throws IOException {
+			String[] legalMoves = request("MOVES " + gameId).split(" ");
+			if (legalMoves.length < 2) {
+				return false;
+			}
+			String move = legalMoves[1 + random.nextInt(legalMoves.length - 1)];
+			long start = System.nanoTime();
+			String reply = request("MOVE " + gameId + " " + move);
+			long latency = System.nanoTime() - start;
+			if (!reply.startsWith("OK")) {
+				throw new IllegalStateException("server rejected legal move " + move + ": " + reply);
+			}
+			if (sampleCount == latencies.length && sampleCount < MAX_SAMPLES) {
+				latencies = Arrays.copyOf(latencies, sampleCount * 2);
+			}
+			if (sampleCount < latencies.length) {
+				latencies[sampleCount++] = latency;
+			}
+			moves++;
+			return !reply.equals("OK checkmate") && !reply.equals("OK stalemate");
+		}
+
+		private String request(String line) throws IOException {
+			writer.write(line);
+			writer.write('\n');
+			writer.flush();
+			String reply = reader.readLine();
+			if (reply == null) {
+				throw new IOException("server closed the connection");
+			}
+			return reply;
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package server;
+
+import java.util.Arrays;
+
+import piece.Fen;
+import piece.Move;
+import piece.Position;
+
+/**
+ * Lead Author(s):Arturo Medina
+ *
+ * References: Morelli, R., & Walde, R. (2016). Java, Java, Java:
+ * Object-Oriented Problem Solving. Retrieved from
+ * https://open.umn.edu/opentextbooks/textbooks/java-java-java-object-oriented-problem-solving
+ *
+ * RyiSnow. (2023, December 4). How to Code Chess in Java [Video]. YouTube.
+ * https://www.youtube.com/watch?v=jzCxywhTAUI&t=4612s
+ *
+ **/
+/**
+ * One game hosted by the GameServer: its own Position plus the moves played,
+ * so a move can be taken back. Nothing is shared between games.
+ */
+class ServerGame {
+
+	// A ServerGame has-a id (the number clients address it by)
+	private final int id;
+	// A ServerGame has-a position (the current position of this game only)
+	private final Position position;
+	// A ServerGame has-a moves (every move played, for UNDO) and moveCount
+	private int[] moves = new int[256];
+	private int moveCount;
+
+	/**
+	 * @throws IllegalArgumentException if the FEN is not valid or its position
+	 *                                  cannot be played (see Fen.parse)
+	 */
+	ServerGame(int id, String fen) {
+		this.id = id;
+		this.position = Fen.parse(fen);
+	}
+
+	/**
+	 * Plays a move that has already been checked as legal.
+	 */
+	void play(int move) {
+		if (moveCount == moves.length) {
+			moves = Arrays.copyOf(moves, moves.length * 2);
+		}
+		moves[moveCount++] = move;
+		position.makeMove(move);
+	}
+
+	/**
+	 * Takes back the last move.
+	 *
+	 * @return the move taken back, or Move.NONE if no move has been played
+	 */
+	int undo() {
+		if (moveCount == 0) {
+			return Move.NONE;
+		}
+		int move = moves[--moveCount];
+		position.unmakeMove(move);
+		return move;
+	}
+
+	int getId() {
+		return id;
+	}
+
+	Position getPosition() {
+		return position;
+	}
+
+	int getMoveCount() {
+		return moveCount;
+	}
+}